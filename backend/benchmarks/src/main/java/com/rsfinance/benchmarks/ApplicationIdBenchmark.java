@@ -0,0 +1,37 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.service.SnowflakeApplicationIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// Contended ID generation; SnowflakeApplicationIdGeneratorTest checks uniqueness under the same contention
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(64)
+public class ApplicationIdBenchmark {
+
+    private final SnowflakeApplicationIdGenerator generator = new SnowflakeApplicationIdGenerator(1);
+
+    @Benchmark
+    public long rawId() {
+        return generator.nextRawId();
+    }
+
+    @Benchmark
+    public String formattedId() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,119 @@
+package com.rsfinance.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rsfinance.controller.PublicController;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The public status lookup (GET /api/public/applications/{applicationId}) below the HTTP layer,
+ * including JSON serialization of the response. "controller" goes through the status cache (all
+ * keys fit, so this is the hit path), "projectionQuery" is the uncached projection and "entityCopy"
+ * the original implementation (load the entity, copy six fields into a new one). Response sizes of
+ * the projection and the entity copy are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ApplicationStatusBenchmark {
+
+    // Lookups cycle through ids spread over the whole table, so the index is exercised rather than one hot row
+    private static final int KEY_COUNT = 4096;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        String[] applicationIds;
+        int next;
+
+        @Setup
+        public void setUp(SeededDatabase database) {
+            long stride = Math.max(1, database.getRows() / KEY_COUNT);
+            applicationIds = new String[KEY_COUNT];
+            for (int i = 0; i < KEY_COUNT; i++) {
+                applicationIds[i] = SampleApplications.applicationId((i * stride) % database.getRows());
+            }
+        }
+
+        String nextId() {
+            return applicationIds[next++ & (KEY_COUNT - 1)];
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Endpoint {
+        PublicController publicController;
+        LoanApplicationRepository repository;
+        TransactionTemplate transactionTemplate;
+        ObjectMapper objectMapper;
+
+        @Setup
+        public void setUp(SeededDatabase database) throws IOException {
+            publicController = database.getBean(PublicController.class);
+            repository = database.getBean(LoanApplicationRepository.class);
+            transactionTemplate = database.getBean(TransactionTemplate.class);
+            objectMapper = database.getBean(ObjectMapper.class);
+
+            String applicationId = SampleApplications.applicationId(0);
+            System.out.printf("%nResponse size: projection %d bytes, entity copy %d bytes%n",
+                objectMapper.writeValueAsBytes(publicController.getApplicationStatus(applicationId).getBody()).length,
+                objectMapper.writeValueAsBytes(entityCopy(applicationId).getBody()).length);
+        }
+
+        // The lookup as it was before the projection; the transaction stands in for open-in-view
+        ResponseEntity<LoanApplication> entityCopy(String applicationId) {
+            return transactionTemplate.execute(status -> {
+                Optional<LoanApplication> application = repository.findByApplicationId(applicationId);
+                return application.map(app -> {
+                    LoanApplication publicApp = new LoanApplication();
+                    publicApp.setApplicationId(app.getApplicationId());
+                    publicApp.setStatus(app.getStatus());
+                    publicApp.setCreatedAt(app.getCreatedAt());
+                    publicApp.setUpdatedAt(app.getUpdatedAt());
+                    publicApp.setLoanType(app.getLoanType());
+                    publicApp.setLoanAmount(app.getLoanAmount());
+                    return ResponseEntity.ok(publicApp);
+                }).orElse(ResponseEntity.notFound().build());
+            });
+        }
+    }
+
+    @Benchmark
+    public byte[] controller(Endpoint endpoint, Keys keys) throws IOException {
+        return endpoint.objectMapper.writeValueAsBytes(endpoint.publicController.getApplicationStatus(keys.nextId()).getBody());
+    }
+
+    @Benchmark
+    public byte[] projectionQuery(Endpoint endpoint, Keys keys) throws IOException {
+        return endpoint.objectMapper.writeValueAsBytes(endpoint.repository.findStatusViewByApplicationId(keys.nextId()).orElse(null));
+    }
+
+    @Benchmark
+    public byte[] entityCopy(Endpoint endpoint, Keys keys) throws IOException {
+        return endpoint.objectMapper.writeValueAsBytes(endpoint.entityCopy(keys.nextId()).getBody());
+    }
+
+    // Answered from the negative cache after the first call
+    @Benchmark
+    public Object unknownApplication(Endpoint endpoint) {
+        return endpoint.publicController.getApplicationStatus("RSF0000000000").getBody();
+    }
+}
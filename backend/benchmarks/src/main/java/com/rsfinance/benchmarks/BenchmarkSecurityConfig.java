@@ -0,0 +1,32 @@
+package com.rsfinance.benchmarks;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Benchmark profile only: GET /api/public/** is served without credentials. With HTTP Basic every
+ * request would check the default user's password, which Spring Security re-encodes with BCrypt after
+ * the first login, so LoadTest would measure hashing instead of request handling. JMH benchmarks
+ * start the context without a web server and skip it.
+ */
+@Configuration
+@Profile("benchmark")
+@ConditionalOnWebApplication
+public class BenchmarkSecurityConfig {
+
+    @Bean
+    @Order(0)
+    public SecurityFilterChain publicReadsFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(antMatcher(HttpMethod.GET, "/api/public/**"))
+            .authorizeHttpRequests(requests -> requests.anyRequest().permitAll());
+        return http.build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.service.DuplicateApplicationDetector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The duplicate check added to every submission, against the seeded table (run with
+ * -Dbenchmark.rows=10000000 for the 10M-row target). "newApplicant" is the common case, answered by
+ * the Bloom filter; "returningApplicant" matches a stored phone and runs the indexed key query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class DuplicateCheckBenchmark {
+
+    private static final int KEY_COUNT = 4096;
+
+    @State(Scope.Benchmark)
+    public static class Detector {
+        DuplicateApplicationDetector detector;
+
+        @Setup
+        public void setUp(SeededDatabase database) throws InterruptedException {
+            detector = database.getBean(DuplicateApplicationDetector.class);
+            Counter filtered = database.getBean(MeterRegistry.class).counter("app.dedup.checks", "result", "filtered");
+            // The filter loads asynchronously after startup, and on a first run that is before the seed.
+            // It is ready once an unknown applicant is filtered and a seeded one is not.
+            LoanApplication unknown = new LoanApplication();
+            unknown.setEmail("probe@filter.example");
+            unknown.setPhone("1");
+            LoanApplication seeded = SampleApplications.application(0);
+            boolean reloading = false;
+            long started = System.nanoTime();
+            while (true) {
+                double before = filtered.count();
+                detector.findPossibleDuplicate(unknown);
+                if (filtered.count() > before) {
+                    before = filtered.count();
+                    detector.findPossibleDuplicate(seeded);
+                    if (filtered.count() == before) {
+                        break;
+                    }
+                    if (!reloading) {
+                        detector.initialize();
+                        reloading = true;
+                    }
+                }
+                Thread.sleep(100);
+            }
+            System.out.printf("%nDuplicate filter ready after %d ms%n", (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Applicants {
+        LoanApplication[] newApplicants;
+        LoanApplication[] returningApplicants;
+        int next;
+
+        @Setup
+        public void setUp(SeededDatabase database) {
+            long stride = Math.max(1, database.getRows() / KEY_COUNT);
+            newApplicants = new LoanApplication[KEY_COUNT];
+            returningApplicants = new LoanApplication[KEY_COUNT];
+            for (int i = 0; i < KEY_COUNT; i++) {
+                long seen = (i * stride) % database.getRows();
+                long unseen = database.getRows() + i;
+                newApplicants[i] = SampleApplications.application(unseen);
+                // Same phone in a different format, new email
+                returningApplicants[i] = SampleApplications.application(unseen);
+                returningApplicants[i].setPhone("+91 " + SampleApplications.application(seen).getPhone());
+            }
+        }
+
+        LoanApplication nextNew() {
+            return newApplicants[next++ & (KEY_COUNT - 1)];
+        }
+
+        LoanApplication nextReturning() {
+            return returningApplicants[next++ & (KEY_COUNT - 1)];
+        }
+    }
+
+    @Benchmark
+    public String newApplicant(Detector detector, Applicants applicants) {
+        return detector.detector.findPossibleDuplicate(applicants.nextNew());
+    }
+
+    @Benchmark
+    public String returningApplicant(Detector detector, Applicants applicants) {
+        return detector.detector.findPossibleDuplicate(applicants.nextReturning());
+    }
+}
@@ -0,0 +1,140 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.model.OrganizationInfo;
+import com.rsfinance.service.EmailService;
+import com.rsfinance.service.template.EmailTemplateEngine;
+import com.rsfinance.service.template.RenderedEmail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mail body rendering under load: the compiled templates used by EmailService against the
+ * String.format bodies it used to build. Runs on several threads to include the cost of the
+ * per-thread buffers and of Formatter's locale lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(4)
+public class EmailRenderingBenchmark {
+
+    private EmailTemplateEngine engine;
+    private OrganizationInfo organization;
+    private LoanApplication application;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new EmailTemplateEngine();
+        engine.loadTemplates();
+        organization = new OrganizationInfo();
+        organization.setName("RS FINANCE SERVICE");
+        organization.setPhone("8391808557");
+        organization.setEmail("info@rsfinanceservice.com");
+        application = SampleApplications.application(7);
+    }
+
+    @Benchmark
+    public RenderedEmail confirmationTemplate() {
+        Map<String, String> model = organizationModel();
+        putApplication(model);
+        return engine.render("application-confirmation", model);
+    }
+
+    @Benchmark
+    public String confirmationStringFormat() {
+        return String.format(
+            "Dear %s %s,\n\n" +
+            "Thank you for applying for a loan with RS Finance Service.\n\n" +
+            "Your application details:\n" +
+            "Application ID: %s\n" +
+            "Loan Type: %s\n" +
+            "Loan Amount: ₹%,d\n" +
+            "Status: %s\n\n" +
+            "We will review your application and contact you within 24-48 hours.\n\n" +
+            "For any queries, please contact us at:\n" +
+            "Phone: 8391808557\n" +
+            "Email: info@rsfinanceservice.com\n\n" +
+            "Best regards,\n" +
+            "RS Finance Service Team",
+            application.getFirstName(),
+            application.getLastName(),
+            application.getApplicationId(),
+            application.getLoanType(),
+            application.getLoanAmount(),
+            application.getStatus()
+        );
+    }
+
+    @Benchmark
+    public RenderedEmail notificationTemplate() {
+        Map<String, String> model = organizationModel();
+        putApplication(model);
+        model.put("email", application.getEmail());
+        model.put("phone", application.getPhone());
+        model.put("monthlyIncome", EmailService.formatAmount(application.getMonthlyIncome()));
+        model.put("employmentType", application.getEmploymentType());
+        return engine.render("application-notification", model);
+    }
+
+    @Benchmark
+    public String notificationStringFormat() {
+        return String.format(
+            "A new loan application has been submitted.\n\n" +
+            "Application Details:\n" +
+            "Application ID: %s\n" +
+            "Applicant: %s %s\n" +
+            "Email: %s\n" +
+            "Phone: %s\n" +
+            "Loan Type: %s\n" +
+            "Loan Amount: ₹%,d\n" +
+            "Monthly Income: ₹%,d\n" +
+            "Employment Type: %s\n\n" +
+            "Please review the application in the admin dashboard.\n\n" +
+            "RS Finance Service System",
+            application.getApplicationId(),
+            application.getFirstName(),
+            application.getLastName(),
+            application.getEmail(),
+            application.getPhone(),
+            application.getLoanType(),
+            application.getLoanAmount(),
+            application.getMonthlyIncome(),
+            application.getEmploymentType()
+        );
+    }
+
+    // Mirrors EmailService's model building so both sides do the same work
+    private Map<String, String> organizationModel() {
+        Map<String, String> model = new HashMap<>(32);
+        model.put("organizationName", organization.getName());
+        model.put("organizationPhone", organization.getPhone());
+        model.put("organizationEmail", organization.getEmail());
+        return model;
+    }
+
+    private void putApplication(Map<String, String> model) {
+        model.put("applicationId", application.getApplicationId());
+        model.put("firstName", application.getFirstName());
+        model.put("lastName", application.getLastName());
+        model.put("loanType", application.getLoanType());
+        model.put("loanAmount", EmailService.formatAmount(application.getLoanAmount()));
+        model.put("status", String.valueOf(application.getStatus()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.rsfinance.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rsfinance.model.LoanApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Request/response (de)serialization of the full LoanApplication entity, as done by the MVC message converter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JacksonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private LoanApplication application;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings Spring Boot applies to the application's ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        writer = objectMapper.writerFor(LoanApplication.class);
+        reader = objectMapper.readerFor(LoanApplication.class);
+        application = SampleApplications.application(42);
+        json = writer.writeValueAsBytes(application);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(application);
+    }
+
+    @Benchmark
+    public LoanApplication deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
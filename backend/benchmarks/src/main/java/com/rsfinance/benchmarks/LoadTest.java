@@ -0,0 +1,248 @@
+package com.rsfinance.benchmarks;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running instance, to compare app.executor.mode=platform with
+ * app.executor.mode=virtual (JDK 21). For each step, that many keep-alive connections each send
+ * GET /api/public/applications/{id} back to back for random seeded IDs. Most of these miss the
+ * status cache and reach the database. A step warms up, then reports throughput, latency
+ * percentiles and failures (connect errors, timeouts, status other than 200/404). Start the server
+ * from the same jar, e.g.
+ * <pre>
+ * java -cp target/benchmarks.jar com.rsfinance.RSFinanceServiceApplication --spring.profiles.active=benchmark \
+ *     --benchmark.data-dir=target/benchmark-db --benchmark.db-latency-ms=5 --app.executor.mode=virtual \
+ *     --server.tomcat.max-connections=12000
+ * java -cp target/benchmarks.jar com.rsfinance.benchmarks.LoadTest http://localhost:8080 1000,2500,5000,10000 20
+ * </pre>
+ * The database has to be seeded already (any repository benchmark does that), and the benchmark
+ * profile serves these GETs without credentials (BenchmarkSecurityConfig). IDs are drawn from the
+ * first -Dbenchmark.rows applications (1,000,000 by default).
+ * <p>
+ * Each connection is a blocking socket on its own virtual thread, so the generator itself needs
+ * JDK 21 but stays cheap enough at 10k connections to share a machine with the server.
+ */
+public final class LoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private static final int TIMEOUT_MILLIS = 30_000;
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        URI baseUri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int[] steps = Arrays.stream((args.length > 1 ? args[1] : "1000,2500,5000,10000").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        Duration measured = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 20);
+        long rows = Long.getLong("benchmark.rows", 1_000_000L);
+
+        System.out.printf("%11s %10s %9s %9s %9s %8s%n", "connections", "req/s", "p50 ms", "p99 ms", "max ms", "failed");
+        for (int connections : steps) {
+            Step step = new Step(baseUri, rows, connections);
+            step.run(measured);
+            System.out.printf("%,11d %,10.0f %9.1f %9.1f %9.1f %,8d%n", connections,
+                step.completed() / (double) measured.toSeconds(),
+                step.percentile(0.5), step.percentile(0.99), step.max(), step.failed());
+        }
+        System.exit(0);
+    }
+
+    private static final class Step {
+        private final InetSocketAddress address;
+        private final String host;
+        private final long rows;
+        private final int connections;
+
+        private final Timer latency;
+        private final LongAdder failures = new LongAdder();
+        private final CountDownLatch stopped;
+        private volatile boolean measuring;
+        private volatile boolean stopping;
+
+        private Step(URI baseUri, long rows, int connections) {
+            int port = baseUri.getPort() > 0 ? baseUri.getPort() : 80;
+            this.address = new InetSocketAddress(baseUri.getHost(), port);
+            this.host = baseUri.getHost() + ":" + port;
+            this.rows = rows;
+            this.connections = connections;
+            this.latency = Timer.builder("load.latency")
+                .publishPercentiles(0.5, 0.99)
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .register(new SimpleMeterRegistry());
+            this.stopped = new CountDownLatch(connections);
+        }
+
+        private void run(Duration measured) throws InterruptedException {
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("load-");
+            for (int i = 0; i < connections; i++) {
+                executor.execute(this::connection);
+            }
+            TimeUnit.MILLISECONDS.sleep(WARMUP.toMillis());
+            measuring = true;
+            TimeUnit.MILLISECONDS.sleep(measured.toMillis());
+            measuring = false;
+            stopping = true;
+            stopped.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        // One keep-alive connection sending its next request as soon as the previous one is answered
+        private void connection() {
+            Socket socket = null;
+            InputStream in = null;
+            try {
+                while (!stopping) {
+                    long startedAt = System.nanoTime();
+                    try {
+                        if (socket == null) {
+                            socket = new Socket();
+                            socket.connect(address, TIMEOUT_MILLIS);
+                            socket.setSoTimeout(TIMEOUT_MILLIS);
+                            in = new BufferedInputStream(socket.getInputStream(), 1024);
+                        }
+                        Response response = exchange(socket, in);
+                        if (measuring) {
+                            if (response.status() == 200 || response.status() == 404) {
+                                latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                            } else {
+                                failures.increment();
+                            }
+                        }
+                        if (!response.keepAlive()) {
+                            socket.close();
+                            socket = null;
+                        }
+                    } catch (IOException e) {
+                        if (measuring) {
+                            failures.increment();
+                        }
+                        closeQuietly(socket);
+                        socket = null;
+                    }
+                }
+            } finally {
+                closeQuietly(socket);
+                stopped.countDown();
+            }
+        }
+
+        private Response exchange(Socket socket, InputStream in) throws IOException {
+            String applicationId = SampleApplications.applicationId(ThreadLocalRandom.current().nextLong(rows));
+            String request = "GET /api/public/applications/" + applicationId + " HTTP/1.1\r\nHost: " + host + "\r\n\r\n";
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return Response.read(in);
+        }
+
+        private long completed() {
+            return latency.count();
+        }
+
+        private long failed() {
+            return failures.sum();
+        }
+
+        private double percentile(double percentile) {
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile) {
+                    return value.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return Double.NaN;
+        }
+
+        private double max() {
+            return latency.max(TimeUnit.MILLISECONDS);
+        }
+
+        private static void closeQuietly(Socket socket) {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // nothing left to do with it
+                }
+            }
+        }
+    }
+
+    // Just enough HTTP/1.1 to read a response off a keep-alive connection: the body is skipped
+    private record Response(int status, boolean keepAlive) {
+
+        private static Response read(InputStream in) throws IOException {
+            String statusLine = readLine(in);
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            long contentLength = 0;
+            boolean chunked = false;
+            boolean keepAlive = true;
+            for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+                String lower = header.toLowerCase(Locale.ROOT);
+                if (lower.startsWith("content-length:")) {
+                    contentLength = Long.parseLong(lower.substring(15).trim());
+                } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                    chunked = true;
+                } else if (lower.startsWith("connection:") && lower.contains("close")) {
+                    keepAlive = false;
+                }
+            }
+            if (chunked) {
+                for (long size = Long.parseLong(readLine(in).trim(), 16); size > 0; size = Long.parseLong(readLine(in).trim(), 16)) {
+                    skip(in, size);
+                    readLine(in);
+                }
+                readLine(in);
+            } else {
+                skip(in, contentLength);
+            }
+            return new Response(status, keepAlive);
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder(64);
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b < 0) {
+                    throw new EOFException("Connection closed mid-response");
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        private static void skip(InputStream in, long bytes) throws IOException {
+            long remaining = bytes;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException("Connection closed mid-body");
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        }
+    }
+}
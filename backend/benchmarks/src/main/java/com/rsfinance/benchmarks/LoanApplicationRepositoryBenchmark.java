@@ -0,0 +1,96 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.dto.ApplicationListRow;
+import com.rsfinance.dto.ApplicationStatusView;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries behind the public lookup, the admin list and the dashboard, against the
+ * seeded table. H2 numbers are for spotting regressions between releases, not for MySQL capacity planning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoanApplicationRepositoryBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private static final Pageable ENTITY_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+
+    private LoanApplicationRepository repository;
+    private String middleApplicationId;
+    private LocalDateTime middleCreatedAt;
+    private Long middleId;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        repository = database.getBean(LoanApplicationRepository.class);
+        long middle = database.getRows() / 2;
+        middleApplicationId = SampleApplications.applicationId(middle);
+        middleCreatedAt = SampleApplications.createdAt(middle, database.getRows());
+        middleId = middle + 1;
+    }
+
+    @Benchmark
+    public Optional<LoanApplication> findByApplicationId() {
+        return repository.findByApplicationId(middleApplicationId);
+    }
+
+    @Benchmark
+    public Optional<ApplicationStatusView> findStatusViewByApplicationId() {
+        return repository.findStatusViewByApplicationId(middleApplicationId);
+    }
+
+    @Benchmark
+    public List<ApplicationListRow> firstKeysetPage() {
+        return repository.findFirstListRowPage(PAGE);
+    }
+
+    @Benchmark
+    public List<ApplicationListRow> firstKeysetPageByStatus() {
+        return repository.findFirstListRowPageByStatus(LoanApplication.ApplicationStatus.UNDER_REVIEW, PAGE);
+    }
+
+    // Half way through the table: stays as cheap as the first page because no rows are skipped
+    @Benchmark
+    public List<ApplicationListRow> keysetPageAfterMiddle() {
+        return repository.findListRowPageAfter(middleCreatedAt, middleId, PAGE);
+    }
+
+    // The same page as full entities, for comparison with the list-row projection
+    @Benchmark
+    public List<LoanApplication> firstPageAsEntities() {
+        return repository.findAll(ENTITY_PAGE).getContent();
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return repository.countByStatus(LoanApplication.ApplicationStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<Object[]> countGroupedByStatus() {
+        return repository.countApplicationsGroupedByStatus();
+    }
+}
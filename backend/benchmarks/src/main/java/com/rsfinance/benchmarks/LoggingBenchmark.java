@@ -0,0 +1,175 @@
+package com.rsfinance.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Latency of a log call as seen by the request thread. "sync" is the old setup: a pattern-encoded
+ * appender that writes and flushes on the calling thread, as the console appender does. "async" is
+ * the prod setup from logback-spring.xml: the caller only enqueues, and JSON encoding and the write
+ * happen on the AsyncAppender's worker. The sink is a file whose flush also waits sinkMicros, standing
+ * in for a console, pipe or log driver that cannot keep up. Each call carries a request ID in the MDC
+ * and follows some CPU work standing in for the rest of the request. The number of lines written and
+ * dropped is printed per trial.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Sink {
+        @Param({"sync", "async"})
+        String appender;
+
+        // Blackhole.consumeCPU tokens between two log calls
+        @Param({"20000"})
+        int work;
+
+        // Time a write to the sink blocks, 0 for a plain file
+        @Param({"0", "20"})
+        int sinkMicros;
+
+        Logger logger;
+        Path file;
+        final LongAdder logged = new LongAdder();
+
+        @Setup(org.openjdk.jmh.annotations.Level.Trial)
+        public void setUp() throws IOException {
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            file = Files.createTempFile("logging-benchmark", ".log");
+
+            OutputStreamAppender<ILoggingEvent> fileAppender = new OutputStreamAppender<>();
+            fileAppender.setContext(context);
+            fileAppender.setName("file");
+            fileAppender.setImmediateFlush(true);
+            fileAppender.setEncoder("async".equals(appender) ? jsonEncoder(context) : patternEncoder(context));
+            fileAppender.setOutputStream(new SlowSink(new FileOutputStream(file.toFile()), sinkMicros));
+            fileAppender.start();
+
+            Appender<ILoggingEvent> target = fileAppender;
+            if ("async".equals(appender)) {
+                AsyncAppender async = new AsyncAppender();
+                async.setContext(context);
+                async.setName("async");
+                async.setQueueSize(8192);
+                async.setNeverBlock(true);
+                async.setIncludeCallerData(false);
+                async.addAppender(fileAppender);
+                async.start();
+                target = async;
+            }
+
+            logger = context.getLogger("benchmark.logging." + appender);
+            logger.setAdditive(false);
+            logger.setLevel(Level.INFO);
+            logger.addAppender(target);
+        }
+
+        @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+        public void tearDown() throws IOException {
+            // Stopping the async appender drains its queue first
+            logger.detachAndStopAllAppenders();
+            long written;
+            try (Stream<String> lines = Files.lines(file)) {
+                written = lines.count();
+            }
+            System.out.printf("%n%s: %d of %d log lines written (%d dropped)%n",
+                appender, written, logged.sum(), logged.sum() - written);
+            Files.delete(file);
+        }
+
+        private static Encoder<ILoggingEvent> patternEncoder(LoggerContext context) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%X{requestId:-}] - %msg%n");
+            encoder.start();
+            return encoder;
+        }
+
+        private static Encoder<ILoggingEvent> jsonEncoder(LoggerContext context) {
+            JsonEncoder encoder = new JsonEncoder();
+            encoder.setContext(context);
+            encoder.start();
+            return encoder;
+        }
+    }
+
+    private static final class SlowSink extends FilterOutputStream {
+        private final long flushNanos;
+
+        private SlowSink(OutputStream out, int flushMicros) {
+            super(out);
+            this.flushNanos = TimeUnit.MICROSECONDS.toNanos(flushMicros);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            if (flushNanos > 0) {
+                LockSupport.parkNanos(flushNanos);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+        long sequence;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Trial)
+        public void setUp() {
+            MDC.put("requestId", UUID.randomUUID().toString());
+        }
+    }
+
+    @Benchmark
+    public void logLine(Sink sink, Request request) {
+        Blackhole.consumeCPU(sink.work);
+        sink.logger.info("Application {} submitted: {} of {}",
+            SampleApplications.applicationId(request.sequence++ & 1023), "Home Loan", 2_500_000L);
+        sink.logged.increment();
+    }
+}
@@ -0,0 +1,215 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.RSFinanceServiceApplication;
+import com.rsfinance.model.ContactMessage;
+import com.rsfinance.model.LoanType;
+import com.rsfinance.repository.ContactMessageRepository;
+import com.rsfinance.repository.LoanTypeRepository;
+import com.rsfinance.service.ContactMessageService;
+import com.rsfinance.service.LoanTypeService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Counts the JDBC round trips of the admin write operations, as each was written before and as the
+ * services do it now, against an in-memory H2 database. Every statement execution, commit and rollback
+ * is a round trip, and so is every setAutoCommit that changes the connection's mode (Connector/J with
+ * useLocalSessionState sends only those). Read-only flips are listed separately: they cost a round
+ * trip only with readOnlyPropagatesToServer=true. Run with
+ * java -cp target/benchmarks.jar com.rsfinance.benchmarks.RoundTripReport [operations per variant]
+ */
+public final class RoundTripReport {
+
+    private static final String H2_URL = "jdbc:h2:mem:roundtrips;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private RoundTripReport() {}
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        RoundTripCounter counter = new RoundTripCounter();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RSFinanceServiceApplication.class)
+            .profiles("benchmark")
+            .web(WebApplicationType.NONE)
+            .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(counter))
+            .run("--spring.datasource.url=" + H2_URL);
+        try {
+            ContactMessageRepository messageRepository = context.getBean(ContactMessageRepository.class);
+            ContactMessageService messages = context.getBean(ContactMessageService.class);
+            LoanTypeRepository loanTypeRepository = context.getBean(LoanTypeRepository.class);
+            LoanTypeService loanTypes = context.getBean(LoanTypeService.class);
+            TransactionTemplate transaction = context.getBean(TransactionTemplate.class);
+
+            Long messageId = messageRepository.save(message()).getId();
+            Long loanTypeId = loanTypeRepository.save(loanType()).getId();
+
+            List<Row> rows = new ArrayList<>();
+            // Each run flips the flag, so every variant has a change to write
+            rows.add(measure(counter, operations, "mark message read/unread", "find + save", i ->
+                messageRepository.findById(messageId).ifPresent(message -> {
+                    message.setIsRead(i % 2 == 0);
+                    messageRepository.save(message);
+                })));
+            rows.add(measure(counter, operations, "", "find + dirty check, one transaction", i ->
+                transaction.executeWithoutResult(status ->
+                    messageRepository.findById(messageId).ifPresent(message -> message.setIsRead(i % 2 != 0)))));
+            rows.add(measure(counter, operations, "", "JPQL UPDATE (service)", i -> {
+                if (i % 2 == 0) {
+                    messages.markAsRead(messageId);
+                } else {
+                    messages.markAsUnread(messageId);
+                }
+            }));
+
+            rows.add(measure(counter, operations, "toggle loan type", "find + save", i ->
+                loanTypeRepository.findById(loanTypeId).ifPresent(loanType -> {
+                    loanType.setIsActive(!loanType.getIsActive());
+                    loanTypeRepository.save(loanType);
+                })));
+            rows.add(measure(counter, operations, "", "find + dirty check, one transaction", i ->
+                transaction.executeWithoutResult(status ->
+                    loanTypeRepository.findById(loanTypeId).ifPresent(loanType -> loanType.setIsActive(!loanType.getIsActive())))));
+            rows.add(measure(counter, operations, "", "JPQL UPDATE (service)", i -> loanTypes.toggleLoanTypeStatus(loanTypeId)));
+
+            List<Long> deleted = new ArrayList<>();
+            for (int i = 0; i < 2 * operations; i++) {
+                deleted.add(messageRepository.save(message()).getId());
+            }
+            rows.add(measure(counter, operations, "delete message", "deleteById", i -> messageRepository.deleteById(deleted.get(i))));
+            rows.add(measure(counter, operations, "", "JPQL DELETE (service)", i -> messages.deleteMessage(deleted.get(operations + i))));
+
+            rows.add(measure(counter, operations, "unread message count", "repository", i -> messageRepository.countUnreadMessages()));
+            rows.add(measure(counter, operations, "", "read-only transaction (service)", i -> messages.getUnreadMessageCount()));
+
+            System.out.printf("%-26s %-38s %10s %8s %11s %12s %12s%n",
+                "operation", "variant", "statements", "commits", "autocommit", "round trips", "read-only");
+            for (Row row : rows) {
+                System.out.printf("%-26s %-38s %10.1f %8.1f %11.1f %12.1f %12.1f%n", row.operation(), row.variant(),
+                    row.statements(), row.commits(), row.autoCommitFlips(), row.roundTrips(), row.readOnlyFlips());
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Row measure(RoundTripCounter counter, int operations, String operation, String variant, IntConsumer action) {
+        counter.reset();
+        for (int i = 0; i < operations; i++) {
+            action.accept(i);
+        }
+        return new Row(operation, variant, counter.statements / (double) operations, counter.commits / (double) operations,
+            counter.autoCommitFlips / (double) operations, counter.readOnlyFlips / (double) operations);
+    }
+
+    private record Row(String operation, String variant, double statements, double commits, double autoCommitFlips,
+                       double readOnlyFlips) {
+
+        private double roundTrips() {
+            return statements + commits + autoCommitFlips;
+        }
+    }
+
+    private static ContactMessage message() {
+        return new ContactMessage("Round Trip", "round.trip@example.com", "9800000000", "Loan enquiry", "Please call me back.");
+    }
+
+    private static LoanType loanType() {
+        LoanType loanType = new LoanType();
+        loanType.setName("Round Trip Loan");
+        loanType.setDescription("Round Trip Loan");
+        loanType.setInterestRate(9.5);
+        loanType.setMaxAmount(5_000_000L);
+        loanType.setMinTenure(12);
+        loanType.setMaxTenure(240);
+        loanType.setProcessingFee(1.0);
+        loanType.setIsActive(true);
+        return loanType;
+    }
+
+    // Wraps every pool, below the routing and lazy-connection proxies, so it sees only what reaches a real connection
+    private static final class RoundTripCounter implements BeanPostProcessor {
+        // The report runs on a single thread
+        private long statements;
+        private long commits;
+        private long autoCommitFlips;
+        private long readOnlyFlips;
+
+        private void reset() {
+            statements = 0;
+            commits = 0;
+            autoCommitFlips = 0;
+            readOnlyFlips = 0;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource) {
+                return wrap(dataSource, DataSource.class);
+            }
+            return bean;
+        }
+
+        private <T> T wrap(T target, Class<T> type) {
+            Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> {
+                    count(target, method, args);
+                    return wrapResult(invoke(target, method, args));
+                });
+            return type.cast(proxy);
+        }
+
+        private void count(Object target, Method method, Object[] args) throws Exception {
+            String name = method.getName();
+            if (Statement.class.isAssignableFrom(method.getDeclaringClass())) {
+                if (name.startsWith("execute")) {
+                    statements++;
+                }
+            } else if (target instanceof Connection connection) {
+                switch (name) {
+                    case "commit", "rollback" -> commits++;
+                    case "setAutoCommit" -> autoCommitFlips += connection.getAutoCommit() != (Boolean) args[0] ? 1 : 0;
+                    case "setReadOnly" -> readOnlyFlips += connection.isReadOnly() != (Boolean) args[0] ? 1 : 0;
+                    default -> { }
+                }
+            }
+        }
+
+        private Object wrapResult(Object result) {
+            if (result instanceof Connection connection) {
+                return wrap(connection, Connection.class);
+            }
+            if (result instanceof CallableStatement statement) {
+                return wrap(statement, CallableStatement.class);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(statement, PreparedStatement.class);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(statement, Statement.class);
+            }
+            return result;
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
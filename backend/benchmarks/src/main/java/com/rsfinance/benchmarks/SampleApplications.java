@@ -0,0 +1,76 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.model.LoanApplication;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Deterministic, fully populated applications shared by the in-memory and database benchmarks
+final class SampleApplications {
+
+    static final String[] LOAN_TYPES = {
+        "Personal Loan", "Home Loan", "Business Loan", "Car Loan", "Education Loan", "Gold Loan"
+    };
+
+    static final String[] CITIES = {
+        "Kolkata", "Mumbai", "Delhi", "Bengaluru", "Chennai", "Hyderabad", "Pune", "Durgapur"
+    };
+
+    static final LoanApplication.ApplicationStatus[] STATUSES = LoanApplication.ApplicationStatus.values();
+
+    // Seeded rows are spread evenly over this many days before BASE_TIME
+    static final int SPREAD_DAYS = 730;
+
+    static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private SampleApplications() {}
+
+    static String applicationId(long index) {
+        return "RSFB" + (1_000_000_000L + index);
+    }
+
+    static LocalDateTime createdAt(long index, long total) {
+        long secondsBack = SPREAD_DAYS * 86_400L * (total - index) / Math.max(total, 1);
+        return BASE_TIME.minusSeconds(secondsBack);
+    }
+
+    static LoanApplication application(long index) {
+        LoanApplication application = new LoanApplication();
+        application.setId(index + 1);
+        application.setApplicationId(applicationId(index));
+        application.setFirstName("Applicant" + index);
+        application.setLastName("Sarkar");
+        application.setEmail("applicant" + index + "@example.com");
+        application.setPhone(String.valueOf(9_000_000_000L + index));
+        application.setDateOfBirth(LocalDate.of(1980 + (int) (index % 20), 1 + (int) (index % 12), 1 + (int) (index % 28)));
+        application.setGender(index % 2 == 0 ? "Male" : "Female");
+        application.setMaritalStatus(index % 3 == 0 ? "Single" : "Married");
+        application.setFatherName("Father " + index);
+        application.setMotherName("Mother " + index);
+        application.setCurrentAddress(index + " Park Street, Near City Centre");
+        application.setPermanentAddress(index + " Station Road, Old Town");
+        application.setCity(CITIES[(int) (index % CITIES.length)]);
+        application.setState("West Bengal");
+        application.setPincode(String.valueOf(700_000 + index % 1000));
+        application.setResidenceType("Owned");
+        application.setYearsAtCurrentAddress((int) (index % 15));
+        application.setEmploymentType(index % 4 == 0 ? "Self Employed" : "Salaried");
+        application.setCompanyName("Company " + index % 500);
+        application.setDesignation("Engineer");
+        application.setWorkExperience((int) (index % 25));
+        application.setMonthlyIncome(25_000L + index % 200_000);
+        application.setAdditionalIncome(index % 5_000);
+        application.setOfficialEmail("work" + index + "@company.example");
+        application.setOfficeAddress("Sector V, Salt Lake");
+        application.setLoanType(LOAN_TYPES[(int) (index % LOAN_TYPES.length)]);
+        application.setLoanAmount(100_000L + (index % 5_000) * 1_000L);
+        application.setLoanPurpose("Home renovation and consolidation of existing debt");
+        application.setPreferredTenure(12 * (1 + (int) (index % 10)));
+        application.setExistingLoans(index % 5 == 0 ? "Car loan, 2 EMIs remaining" : null);
+        application.setBankAccount(String.valueOf(10_000_000_000L + index));
+        application.setIfscCode("SBIN0001234");
+        application.setStatus(STATUSES[(int) (index % STATUSES.length)]);
+        application.setCreatedAt(BASE_TIME.minusDays(index % SPREAD_DAYS));
+        application.setUpdatedAt(application.getCreatedAt());
+        return application;
+    }
+}
@@ -0,0 +1,136 @@
+package com.rsfinance.benchmarks;
+
+import com.rsfinance.RSFinanceServiceApplication;
+import com.rsfinance.model.ApplicantKeys;
+import com.rsfinance.model.LoanApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application (without the web server) against the H2 database from
+ * application-benchmark.properties and makes sure it holds benchmark.rows applications
+ * (1,000,000 by default, e.g. -Dbenchmark.rows=100000 for a quick run).
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    private static final int INSERT_BATCH = 5_000;
+
+    private static final String INSERT_SQL = "INSERT INTO loan_applications (" +
+        "id, application_id, first_name, last_name, email, phone, date_of_birth, gender, marital_status, " +
+        "father_name, mother_name, current_address, permanent_address, city, state, pincode, residence_type, " +
+        "years_at_current_address, employment_type, company_name, designation, work_experience, monthly_income, " +
+        "additional_income, official_email, office_address, loan_type, loan_amount, loan_purpose, preferred_tenure, " +
+        "existing_loans, bank_account, ifsc_code, status, created_at, updated_at, email_key, phone_key) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private ConfigurableApplicationContext context;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(RSFinanceServiceApplication.class)
+            .profiles("benchmark")
+            .web(WebApplicationType.NONE)
+            .run();
+        rows = context.getEnvironment().getProperty("benchmark.rows", Long.class, 1_000_000L);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long getRows() { return rows; }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        // Databases seeded before the duplicate keys existed have them NULL and are seeded again
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_applications WHERE email_key IS NOT NULL", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbcTemplate.execute("TRUNCATE TABLE loan_applications");
+        List<LoanApplication> batch = new ArrayList<>(INSERT_BATCH);
+        for (long i = 0; i < rows; i++) {
+            LoanApplication application = SampleApplications.application(i);
+            // Ids grow with created_at, as they do in production
+            application.setCreatedAt(SampleApplications.createdAt(i, rows));
+            application.setUpdatedAt(application.getCreatedAt());
+            batch.add(application);
+            if (batch.size() == INSERT_BATCH) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(jdbcTemplate, batch);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void insert(JdbcTemplate jdbcTemplate, List<LoanApplication> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), SeededDatabase::bind);
+    }
+
+    private static void bind(PreparedStatement ps, LoanApplication a) throws SQLException {
+        int i = 0;
+        ps.setLong(++i, a.getId());
+        ps.setString(++i, a.getApplicationId());
+        ps.setString(++i, a.getFirstName());
+        ps.setString(++i, a.getLastName());
+        ps.setString(++i, a.getEmail());
+        ps.setString(++i, a.getPhone());
+        ps.setDate(++i, Date.valueOf(a.getDateOfBirth()));
+        ps.setString(++i, a.getGender());
+        ps.setString(++i, a.getMaritalStatus());
+        ps.setString(++i, a.getFatherName());
+        ps.setString(++i, a.getMotherName());
+        ps.setString(++i, a.getCurrentAddress());
+        ps.setString(++i, a.getPermanentAddress());
+        ps.setString(++i, a.getCity());
+        ps.setString(++i, a.getState());
+        ps.setString(++i, a.getPincode());
+        ps.setString(++i, a.getResidenceType());
+        ps.setInt(++i, a.getYearsAtCurrentAddress());
+        ps.setString(++i, a.getEmploymentType());
+        ps.setString(++i, a.getCompanyName());
+        ps.setString(++i, a.getDesignation());
+        ps.setInt(++i, a.getWorkExperience());
+        ps.setLong(++i, a.getMonthlyIncome());
+        ps.setLong(++i, a.getAdditionalIncome());
+        ps.setString(++i, a.getOfficialEmail());
+        ps.setString(++i, a.getOfficeAddress());
+        ps.setString(++i, a.getLoanType());
+        ps.setLong(++i, a.getLoanAmount());
+        ps.setString(++i, a.getLoanPurpose());
+        ps.setInt(++i, a.getPreferredTenure());
+        ps.setString(++i, a.getExistingLoans());
+        ps.setString(++i, a.getBankAccount());
+        ps.setString(++i, a.getIfscCode());
+        ps.setString(++i, a.getStatus().name());
+        ps.setTimestamp(++i, Timestamp.valueOf(a.getCreatedAt()));
+        ps.setTimestamp(++i, Timestamp.valueOf(a.getUpdatedAt()));
+        ps.setString(++i, ApplicantKeys.emailKey(a.getEmail()));
+        ps.setString(++i, ApplicantKeys.phoneKey(a.getPhone()));
+    }
+}
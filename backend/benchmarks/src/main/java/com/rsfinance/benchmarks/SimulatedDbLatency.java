@@ -0,0 +1,85 @@
+package com.rsfinance.benchmarks;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark profile only. The embedded H2 database answers in microseconds, so JDBC never blocks the
+ * way it does against MySQL over the network. With benchmark.db-latency-ms set, every statement
+ * execution, commit and rollback first sleeps that long while holding its pooled connection, standing
+ * in for the round trip. Sleeping unmounts a virtual thread, as a socket read does in Connector/J 9.
+ */
+@Component
+@Profile("benchmark")
+@ConditionalOnProperty(name = "benchmark.db-latency-ms")
+public class SimulatedDbLatency implements BeanPostProcessor {
+
+    private final long latencyNanos;
+
+    public SimulatedDbLatency(@Value("${benchmark.db-latency-ms}") double latencyMillis) {
+        this.latencyNanos = (long) (latencyMillis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && latencyNanos > 0) {
+            return wrap(dataSource, DataSource.class);
+        }
+        return bean;
+    }
+
+    private <T> T wrap(T target, Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+            (self, method, args) -> {
+                if (isRoundTrip(method)) {
+                    TimeUnit.NANOSECONDS.sleep(latencyNanos);
+                }
+                return wrapResult(invoke(target, method, args));
+            });
+        return type.cast(proxy);
+    }
+
+    private static boolean isRoundTrip(Method method) {
+        String name = method.getName();
+        if (Statement.class.isAssignableFrom(method.getDeclaringClass())) {
+            return name.startsWith("execute");
+        }
+        return Connection.class.equals(method.getDeclaringClass()) && (name.equals("commit") || name.equals("rollback"));
+    }
+
+    private Object wrapResult(Object result) {
+        if (result instanceof Connection connection) {
+            return wrap(connection, Connection.class);
+        }
+        if (result instanceof CallableStatement statement) {
+            return wrap(statement, CallableStatement.class);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return wrap(statement, PreparedStatement.class);
+        }
+        if (result instanceof Statement statement) {
+            return wrap(statement, Statement.class);
+        }
+        return result;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
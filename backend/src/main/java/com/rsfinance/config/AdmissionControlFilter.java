@@ -0,0 +1,306 @@
+package com.rsfinance.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for the unauthenticated submit endpoints, each of which costs a database insert
+ * and two outbound emails. A request has to pass three checks before it reaches a controller:
+ * a token bucket per client IP, a token bucket per submitted email address (single submissions only)
+ * and a global limit on concurrent submissions. Rejected requests get 429 with Retry-After.
+ * Buckets live in bounded Caffeine maps, so a flood of distinct keys evicts idle buckets instead of
+ * growing the heap.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SUBMIT_PATHS = Set.of(
+        "/api/public/applications", "/api/public/applications/batch", "/api/public/contact");
+
+    private static final String BATCH_PATH = "/api/public/applications/batch";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final BucketSpec ipLimit;
+    private final BucketSpec emailLimit;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Semaphore inFlight;
+    private final long concurrencyWaitMillis;
+
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByConcurrency;
+
+    public AdmissionControlFilter(MeterRegistry meterRegistry,
+                                  @Value("${app.admission.enabled:true}") boolean enabled,
+                                  @Value("${app.admission.ip.burst:10}") int ipBurst,
+                                  @Value("${app.admission.ip.per-minute:30}") int ipPerMinute,
+                                  @Value("${app.admission.email.burst:3}") int emailBurst,
+                                  @Value("${app.admission.email.per-hour:10}") int emailPerHour,
+                                  @Value("${app.admission.max-tracked-keys:100000}") long maxTrackedKeys,
+                                  @Value("${app.admission.max-concurrent:16}") int maxConcurrent,
+                                  @Value("${app.admission.concurrency-wait-ms:0}") long concurrencyWaitMillis,
+                                  @Value("${app.admission.max-body-bytes:65536}") int maxBodyBytes) {
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.ipLimit = new BucketSpec(ipBurst, Duration.ofMinutes(1).toNanos() / ipPerMinute);
+        this.emailLimit = new BucketSpec(emailBurst, Duration.ofHours(1).toNanos() / emailPerHour);
+        // An idle bucket is full again after burst * interval, so it can be dropped after that
+        this.ipBuckets = Caffeine.newBuilder()
+            .maximumSize(maxTrackedKeys)
+            .expireAfterAccess(Duration.ofNanos(ipLimit.refillAllNanos()))
+            .build();
+        this.emailBuckets = Caffeine.newBuilder()
+            .maximumSize(maxTrackedKeys)
+            .expireAfterAccess(Duration.ofNanos(emailLimit.refillAllNanos()))
+            .build();
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.concurrencyWaitMillis = concurrencyWaitMillis;
+
+        this.rejectedByIp = rejectedCounter(meterRegistry, "ip");
+        this.rejectedByEmail = rejectedCounter(meterRegistry, "email");
+        this.rejectedByConcurrency = rejectedCounter(meterRegistry, "concurrency");
+        Gauge.builder("app.admission.in.flight", inFlight, s -> maxConcurrent - s.availablePermits())
+            .description("Submissions currently being processed")
+            .register(meterRegistry);
+        Gauge.builder("app.admission.tracked.keys", this, f -> f.ipBuckets.estimatedSize() + f.emailBuckets.estimatedSize())
+            .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("app.admission.rejected")
+            .tag("reason", reason)
+            .description("Submissions answered with 429")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+            || !"POST".equals(request.getMethod())
+            || !SUBMIT_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        long ipWait = ipBuckets.get(request.getRemoteAddr(), key -> new TokenBucket(ipLimit, now)).tryConsume(now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            reject(response, ipWait);
+            return;
+        }
+
+        HttpServletRequest admitted = request;
+        if (!request.getRequestURI().endsWith(BATCH_PATH) && isJson(request)) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request, maxBodyBytes);
+            String email = findTopLevelEmail(buffered.head());
+            if (email != null) {
+                long emailWait = emailBuckets.get(email, key -> new TokenBucket(emailLimit, now)).tryConsume(now);
+                if (emailWait > 0) {
+                    rejectedByEmail.increment();
+                    reject(response, emailWait);
+                    return;
+                }
+            }
+            admitted = buffered;
+        }
+
+        boolean acquired;
+        try {
+            acquired = concurrencyWaitMillis > 0
+                ? inFlight.tryAcquire(concurrencyWaitMillis, TimeUnit.MILLISECONDS)
+                : inFlight.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedByConcurrency.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            chain.doFilter(admitted, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    // Only the top level of the object is scanned, so a nested "email" cannot be used to dodge the limit
+    private static String findTopLevelEmail(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    String email = parser.getText().trim().toLowerCase(Locale.ROOT);
+                    return email.isEmpty() ? null : email;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            // Malformed or truncated JSON is left to the controller to reject
+            return null;
+        }
+    }
+
+    private record BucketSpec(int burst, long intervalNanos) {
+        long refillAllNanos() {
+            return burst * intervalNanos;
+        }
+    }
+
+    /**
+     * Token bucket kept as a single "theoretical arrival time" (the GCRA form): each admitted request
+     * pushes it one interval into the future, and a request is refused while it lies more than
+     * burst - 1 intervals ahead of now. Updates are a CAS loop on one AtomicLong, so there is no lock.
+     */
+    private static final class TokenBucket {
+        private final BucketSpec spec;
+        private final AtomicLong arrival;
+
+        private TokenBucket(BucketSpec spec, long now) {
+            this.spec = spec;
+            this.arrival = new AtomicLong(now);
+        }
+
+        // Returns 0 when a token was taken, otherwise how long until one is available
+        private long tryConsume(long now) {
+            long tolerance = spec.refillAllNanos() - spec.intervalNanos();
+            while (true) {
+                long current = arrival.get();
+                long base = current - now > 0 ? current : now;
+                long ahead = base - now;
+                if (ahead > tolerance) {
+                    return ahead - tolerance;
+                }
+                if (arrival.compareAndSet(current, base + spec.intervalNanos())) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    // Keeps the first bytes of the body for inspection and replays them ahead of the rest of the stream
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] head;
+        private final InputStream body;
+
+        private BufferedBodyRequest(HttpServletRequest request, int limit) throws IOException {
+            super(request);
+            InputStream original = request.getInputStream();
+            this.head = original.readNBytes(limit);
+            this.body = head.length < limit
+                ? new ByteArrayInputStream(head)
+                : new SequenceInputStream(new ByteArrayInputStream(head), original);
+        }
+
+        private byte[] head() {
+            return head;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = body.read(b, off, len);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The head was already read from the container stream with blocking reads, so a listener on that
+                // stream would miss it; IllegalStateException is what the servlet spec throws for a stream that
+                // cannot switch to non-blocking IO, and no handler behind this filter reads asynchronously
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new IllegalStateException("Non-blocking read is not available after the body was inspected");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
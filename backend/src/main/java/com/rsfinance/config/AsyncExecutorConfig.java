@@ -0,0 +1,153 @@
+package com.rsfinance.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor behind @Async methods and Spring MVC async requests (streaming exports).
+ * "platform" mode is a bounded thread pool with a bounded queue; "virtual" mode (JDK 21+) starts
+ * one virtual thread per task, capped by a concurrency limit, and also moves Tomcat onto virtual threads
+ * (see {@link VirtualThreadConfig}). Both report the same app.executor.* meters.
+ */
+@Configuration
+public class AsyncExecutorConfig {
+
+    private static final String NAME = "applicationTaskExecutor";
+
+    @Value("${app.executor.mode:platform}")
+    private String mode;
+
+    @Value("${app.executor.core-size:8}")
+    private int coreSize;
+
+    @Value("${app.executor.max-size:32}")
+    private int maxSize;
+
+    @Value("${app.executor.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${app.executor.keep-alive-seconds:60}")
+    private int keepAliveSeconds;
+
+    // caller-runs pushes back on the submitting thread; abort fails fast with TaskRejectedException
+    @Value("${app.executor.rejection-policy:caller-runs}")
+    private String rejectionPolicy;
+
+    // Upper bound on concurrently running tasks in virtual mode
+    @Value("${app.executor.virtual-concurrency-limit:1000}")
+    private int virtualConcurrencyLimit;
+
+    // Also registered as "taskExecutor" so @EnableAsync picks it over the scheduler
+    @Bean(name = {NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(MeterRegistry meterRegistry) {
+        TaskMetrics metrics = new TaskMetrics(meterRegistry);
+        if ("virtual".equalsIgnoreCase(mode)) {
+            return virtualThreadExecutor(metrics);
+        }
+        return platformThreadExecutor(metrics, meterRegistry);
+    }
+
+    private AsyncTaskExecutor virtualThreadExecutor(TaskMetrics metrics) {
+        VirtualThreadConfig.requireVirtualThreads();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("app-vt-");
+        executor.setVirtualThreads(true);
+        // Submitters block once the limit is reached, which is the back-pressure a queue would give
+        executor.setConcurrencyLimit(virtualConcurrencyLimit);
+        executor.setTaskDecorator(metrics);
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(30));
+        return executor;
+    }
+
+    private AsyncTaskExecutor platformThreadExecutor(TaskMetrics metrics, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("app-task-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setTaskDecorator(metrics);
+        executor.setRejectedExecutionHandler(metrics.countingRejections(
+            "abort".equalsIgnoreCase(rejectionPolicy)
+                ? new ThreadPoolExecutor.AbortPolicy()
+                : new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("app.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+            .tag("name", NAME)
+            .description("Tasks waiting for a pool thread")
+            .register(meterRegistry);
+        Gauge.builder("app.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+            .tag("name", NAME)
+            .register(meterRegistry);
+        return executor;
+    }
+
+    // Measures queue wait and run time of every task, counts rejections and carries the submitter's MDC (request ID) over
+    private static final class TaskMetrics implements TaskDecorator {
+        private final AtomicInteger active = new AtomicInteger();
+        private final Timer queueWait;
+        private final Timer duration;
+        private final Counter rejected;
+
+        private TaskMetrics(MeterRegistry meterRegistry) {
+            this.queueWait = Timer.builder("app.executor.queue.wait").tag("name", NAME)
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+            this.duration = Timer.builder("app.executor.task.duration").tag("name", NAME)
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+            this.rejected = Counter.builder("app.executor.rejected").tag("name", NAME).register(meterRegistry);
+            Gauge.builder("app.executor.active", active, AtomicInteger::get).tag("name", NAME).register(meterRegistry);
+        }
+
+        @Override
+        public Runnable decorate(Runnable task) {
+            long submittedAt = System.nanoTime();
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                // caller-runs executes on the submitting thread, so its own MDC is put back afterwards
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                setContext(context);
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    setContext(previous);
+                }
+            };
+        }
+
+        private static void setContext(Map<String, String> context) {
+            if (context != null) {
+                MDC.setContextMap(context);
+            } else {
+                MDC.clear();
+            }
+        }
+
+        private RejectedExecutionHandler countingRejections(RejectedExecutionHandler delegate) {
+            return (task, executor) -> {
+                rejected.increment();
+                delegate.rejectedExecution(task, executor);
+            };
+        }
+    }
+}
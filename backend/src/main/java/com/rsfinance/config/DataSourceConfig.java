@@ -0,0 +1,112 @@
+package com.rsfinance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One HikariCP pool per {@link Workload}, all on the spring.datasource connection settings, behind a
+ * routing DataSource that JPA, Flyway and JdbcTemplate use. Every pool takes spring.datasource.hikari.*
+ * first and then its own app.datasource.&lt;workload&gt;.* overrides, and is named after its workload in
+ * the hikaricp.* meters. A long export therefore waits for a report connection and never holds one
+ * that PublicController.submitApplication needs.
+ * <p>
+ * Setting app.datasource.replica.url adds a replica pool per workload with the same settings (pool
+ * names oltp-replica, admin-replica, report-replica). Read-only transactions use them while the
+ * {@link ReplicaLagMonitor} allows it; everything else stays on the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Bean
+    public DataSource oltpDataSource(DataSourceProperties properties) {
+        return pool(environment, properties.initializeDataSourceBuilder(), Workload.OLTP, Workload.OLTP.poolName());
+    }
+
+    @Bean
+    public DataSource adminDataSource(DataSourceProperties properties) {
+        return pool(environment, properties.initializeDataSourceBuilder(), Workload.ADMIN, Workload.ADMIN.poolName());
+    }
+
+    @Bean
+    public DataSource reportDataSource(DataSourceProperties properties) {
+        return pool(environment, properties.initializeDataSourceBuilder(), Workload.REPORT, Workload.REPORT.poolName());
+    }
+
+    // Lazy connections: the pool is picked at the first statement, once the transaction's read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(BeanFactory beanFactory, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        ReplicaLagMonitor replicaLag = replicaLagMonitor.getIfAvailable();
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(replicaLag);
+        Map<Object, Object> pools = new HashMap<>();
+        for (Workload workload : Workload.values()) {
+            pools.put(workload.poolName(), beanFactory.getBean(workload.poolName() + "DataSource"));
+            if (replicaLag != null) {
+                pools.put(workload.replicaPoolName(), beanFactory.getBean(workload.poolName() + "ReplicaDataSource"));
+            }
+        }
+        routing.setTargetDataSources(pools);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource pool(Environment environment, DataSourceBuilder<?> builder, Workload workload, String poolName) {
+        HikariDataSource dataSource = builder.type(HikariDataSource.class).build();
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind("app.datasource." + workload.poolName(), Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.datasource.replica.url")
+    static class ReplicaPools {
+
+        @Autowired
+        private Environment environment;
+
+        @Bean
+        public DataSource oltpReplicaDataSource(DataSourceProperties properties) {
+            return replicaPool(properties, Workload.OLTP);
+        }
+
+        @Bean
+        public DataSource adminReplicaDataSource(DataSourceProperties properties) {
+            return replicaPool(properties, Workload.ADMIN);
+        }
+
+        @Bean
+        public DataSource reportReplicaDataSource(DataSourceProperties properties) {
+            return replicaPool(properties, Workload.REPORT);
+        }
+
+        // Same driver and, unless given, the same credentials as the primary
+        private DataSource replicaPool(DataSourceProperties properties, Workload workload) {
+            DataSourceBuilder<?> builder = DataSourceBuilder.create()
+                .driverClassName(properties.determineDriverClassName())
+                .url(environment.getRequiredProperty("app.datasource.replica.url"))
+                .username(environment.getProperty("app.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("app.datasource.replica.password", properties.determinePassword()));
+            return pool(environment, builder, workload, workload.replicaPoolName());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.rsfinance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Metrics beyond what Spring Boot registers on its own (http.server.requests,
+ * spring.data.repository.invocations, hikaricp.connections.*, hibernate.*). Everything is scraped
+ * from /actuator/prometheus on the management port.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    // Turns @Observed service classes into app.service timers (and into spans once a tracing bridge is on the classpath)
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    // Hibernate would instantiate a class name itself; handing over the bean lets it share the request scope
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(RequestStatementMetrics requestStatementMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementMetrics);
+    }
+
+    // (active + waiting) / maximum per pool: above 1 means requests are queuing for a connection
+    @Bean
+    public MeterBinder connectionPoolSaturation(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            // Only the pools: the routing DataSource in front of them would unwrap to whichever pool the current thread uses
+            boolean pool = dataSource instanceof HikariDataSource || dataSource instanceof ConnectionGateDataSource;
+            HikariDataSource hikari = pool ? unwrapHikari(dataSource) : null;
+            if (hikari == null) {
+                return;
+            }
+            // In virtual-thread mode most waiters queue at the gate in front of the pool
+            ConnectionGateDataSource gate = dataSource instanceof ConnectionGateDataSource g ? g : null;
+            Gauge.builder("app.db.pool.saturation", hikari, h -> saturation(h, gate))
+                .tag("pool", hikari.getPoolName() != null ? hikari.getPoolName() : name)
+                .description("Active plus waiting connection requests over the pool maximum")
+                .register(registry);
+        });
+    }
+
+    private static double saturation(HikariDataSource hikari, ConnectionGateDataSource gate) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return Double.NaN;
+        }
+        int waiting = pool.getThreadsAwaitingConnection() + (gate != null ? gate.getQueueLength() : 0);
+        return (double) (pool.getActiveConnections() + waiting) / hikari.getMaximumPoolSize();
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.rsfinance.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Measures how far the read replica trails the primary. Every heartbeat writes this node's current
+ * time to its own replication_heartbeat row (id = app.id.node-id) on the primary and reads that row
+ * back from the replica. The value seen there is this node's clock at the last heartbeat the replica
+ * has applied, so every write this node committed before that time has been applied as well. The
+ * heartbeat, the lag and the commit times it is compared with all come from the same clock, so clock
+ * skew between nodes does not matter. The routing DataSource sends a read-only transaction to the
+ * replica only while it is within app.datasource.replica.max-lag-ms and has applied the latest write
+ * of the same workload made through this node (read-your-writes).
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    // Negative disables the lag check, e.g. for two unconnected local databases
+    @Value("${app.datasource.replica.max-lag-ms:5000}")
+    private long maxLagMillis;
+
+    // Also the key of this node's heartbeat row
+    @Value("${app.id.node-id}")
+    private int nodeId;
+
+    private volatile long appliedUpTo;
+
+    public ReplicaLagMonitor(@Qualifier("oltpDataSource") DataSource primary,
+                             @Qualifier("oltpReplicaDataSource") DataSource replica,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        Gauge.builder("app.db.replica.lag", this, m -> (System.currentTimeMillis() - m.appliedUpTo) / 1000.0)
+            .description("Age of the newest heartbeat the replica has applied")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    // Until the first heartbeat the replica counts as too far behind
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-interval-ms:1000}",
+               initialDelayString = "${app.datasource.replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            long now = System.currentTimeMillis();
+            // The row is created by the node's first heartbeat
+            if (primary.update("UPDATE replication_heartbeat SET beat_millis = ? WHERE id = ?", now, nodeId) == 0) {
+                primary.update("INSERT INTO replication_heartbeat (id, beat_millis) VALUES (?, ?)", nodeId, now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replication heartbeat: {}", e.getMessage());
+        }
+        try {
+            List<Long> applied = replica.queryForList(
+                "SELECT beat_millis FROM replication_heartbeat WHERE id = ?", Long.class, nodeId);
+            appliedUpTo = applied.isEmpty() ? 0 : applied.get(0);
+        } catch (DataAccessException e) {
+            // Keeps the last value, so the measured lag grows until the replica answers again
+            log.warn("Could not read the replication heartbeat from the replica: {}", e.getMessage());
+        }
+    }
+
+    // True when the replica is within the lag limit and has applied everything committed before writtenAt
+    public boolean hasApplied(long writtenAt) {
+        if (maxLagMillis < 0) {
+            return true;
+        }
+        long applied = appliedUpTo;
+        return applied >= writtenAt && System.currentTimeMillis() - applied <= maxLagMillis;
+    }
+}
@@ -0,0 +1,130 @@
+package com.rsfinance.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request is handled. Registered with
+ * Hibernate as its StatementInspector (see ObservabilityConfig) and with the servlet container as a
+ * filter that opens and closes the per-request count. Records app.request.statements per endpoint.
+ * When one statement runs app.metrics.repeated-statement-threshold times or more in a request, that
+ * is the N+1 pattern: app.request.repeated.statements is incremented and the SQL is logged.
+ * A random app.logging.sql-sample-rate share of all statements is logged to "com.rsfinance.sql";
+ * slow statements are logged by Hibernate itself (hibernate.log_slow_query, logger org.hibernate.SQL_SLOW).
+ */
+@Component
+public class RequestStatementMetrics extends OncePerRequestFilter implements StatementInspector {
+
+    // StatementInspector is Serializable; the bean itself is never serialized
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatementMetrics.class);
+
+    private static final Logger sqlLog = LoggerFactory.getLogger("com.rsfinance.sql");
+
+    // Distinct statements tracked per request; a request running more than this is reported anyway
+    private static final int MAX_DISTINCT = 256;
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    private final transient MeterRegistry meterRegistry;
+    private final int repeatedThreshold;
+    private final double sqlSampleRate;
+
+    public RequestStatementMetrics(MeterRegistry meterRegistry,
+                                   @Value("${app.metrics.repeated-statement-threshold:5}") int repeatedThreshold,
+                                   @Value("${app.logging.sql-sample-rate:0}") double sqlSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+        this.sqlSampleRate = sqlSampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+        if (sqlSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sqlSampleRate) {
+            sqlLog.info("{}", sql);
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Statements statements = new Statements();
+        CURRENT.set(statements);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            report(request, statements);
+        }
+    }
+
+    private void report(HttpServletRequest request, Statements statements) {
+        // Same uri tag as http.server.requests, so the two can be joined
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        DistributionSummary.builder("app.request.statements")
+            .tag("uri", uri)
+            .tag("method", method)
+            .description("SQL statements prepared per request")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry)
+            .record(statements.total);
+
+        if (statements.mostRepeated >= repeatedThreshold) {
+            Counter.builder("app.request.repeated.statements")
+                .tag("uri", uri)
+                .tag("method", method)
+                .description("Requests that ran one statement repeatedly (likely N+1)")
+                .register(meterRegistry)
+                .increment();
+            log.warn("Possible N+1 in {} {}: {} statements, one repeated {} times: {}",
+                method, uri, statements.total, statements.mostRepeated, statements.mostRepeatedSql);
+        }
+    }
+
+    private static final class Statements {
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int total;
+        private int mostRepeated;
+        private String mostRepeatedSql;
+
+        private void record(String sql) {
+            total++;
+            Integer count = counts.get(sql);
+            if (count == null) {
+                if (counts.size() >= MAX_DISTINCT) {
+                    return;
+                }
+                count = 0;
+            }
+            counts.put(sql, ++count);
+            if (count > mostRepeated) {
+                mostRepeated = count;
+                mostRepeatedSql = sql;
+            }
+        }
+    }
+}
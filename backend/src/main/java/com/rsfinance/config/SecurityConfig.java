@@ -0,0 +1,46 @@
+package com.rsfinance.config;
+
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+/**
+ * Actuator endpoints get their own chain so Prometheus can scrape without credentials. The management
+ * server only listens on localhost (management.server.address). Declaring a SecurityFilterChain
+ * switches off Spring Boot's default one, so the second chain restates it for everything else.
+ * Contexts started without a web server (the JMH benchmarks) have no HttpSecurity and skip both.
+ */
+@Configuration
+@ConditionalOnWebApplication
+public class SecurityConfig {
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+            .authorizeHttpRequests(requests -> requests
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .anyRequest().authenticated())
+            .httpBasic(withDefaults());
+        return http.build();
+    }
+
+    // Same as Spring Boot's default: every request authenticated, form login and HTTP Basic
+    @Bean
+    @Order(2)
+    public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(requests -> requests.anyRequest().authenticated())
+            .formLogin(withDefaults())
+            .httpBasic(withDefaults());
+        return http.build();
+    }
+}
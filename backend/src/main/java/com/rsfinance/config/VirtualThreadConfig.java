@@ -0,0 +1,107 @@
+package com.rsfinance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * app.executor.mode=virtual (JDK 21+) also serves HTTP requests on virtual threads: Tomcat hands every
+ * request to a new virtual thread instead of its worker pool, so a request blocked on JDBC holds no
+ * platform thread. At most app.executor.virtual-request-limit requests are processed at once (the role
+ * server.tomcat.threads.max has in platform mode); each in-flight request holds about 100 KB of Tomcat
+ * buffers plus its stack, so an unbounded number of them exhausts the heap long before the CPU. Requests
+ * queue for a database connection at a {@link ConnectionGateDataSource} instead of inside the pool.
+ * <p>
+ * The task scheduler deliberately stays on platform threads. The outbox dispatcher talks SMTP through
+ * Angus Mail, whose SMTPTransport does its socket I/O inside synchronized methods and would pin
+ * a virtual thread to its carrier for the whole send.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.executor.mode", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    private static final String NAME = "tomcat";
+
+    @Value("${app.executor.virtual-request-limit:1000}")
+    private int requestLimit;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadRequestExecutor(MeterRegistry meterRegistry) {
+        requireVirtualThreads();
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(requestLimit);
+        Gauge.builder("app.executor.queued", executor, BoundedVirtualThreadExecutor::waiting)
+            .tag("name", NAME)
+            .description("Requests waiting for a processing slot")
+            .register(meterRegistry);
+        Gauge.builder("app.executor.active", executor, BoundedVirtualThreadExecutor::active)
+            .tag("name", NAME)
+            .register(meterRegistry);
+        return factory -> factory.addProtocolHandlerCustomizers(protocol -> protocol.setExecutor(executor));
+    }
+
+    // Static so the post-processor does not pull this configuration class in early
+    @Bean
+    public static BeanPostProcessor connectionGate() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the pools themselves: the routing DataSource in front of them unwraps to a pool as well
+                if (bean instanceof HikariDataSource hikari) {
+                    // Fills in the pool defaults (maximumPoolSize is -1 until then); the pool validates again on start
+                    hikari.validate();
+                    return new ConnectionGateDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Every request gets its virtual thread at once, but it waits for a permit before Tomcat allocates a processor
+    // and buffers for it. A waiting request costs little more than its socket, as in the platform pool's queue.
+    private static final class BoundedVirtualThreadExecutor implements Executor {
+        private final VirtualThreadExecutor threads = new VirtualThreadExecutor("tomcat-vt-");
+        private final Semaphore permits;
+        private final int limit;
+
+        private BoundedVirtualThreadExecutor(int limit) {
+            this.permits = new Semaphore(limit, true);
+            this.limit = limit;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            threads.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        private int waiting() {
+            return permits.getQueueLength();
+        }
+
+        private int active() {
+            return limit - permits.availablePermits();
+        }
+    }
+
+    static void requireVirtualThreads() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("app.executor.mode=virtual requires JDK 21+, running on " + Runtime.version());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.rsfinance.config;
+
+/**
+ * The connection pools of {@link DataSourceConfig}. Each workload gets its own pool so a slow one
+ * cannot take the connections another one needs; see {@link WorkloadPool}. With a read replica
+ * configured, each workload also has a replica pool for its read-only transactions.
+ */
+public enum Workload {
+
+    // Public submits and lookups, plus anything not annotated (the default pool)
+    OLTP,
+
+    // Admin screens: dashboard aggregates, lists and status updates
+    ADMIN,
+
+    // Long-running reads: exports, rollups and full-table scans
+    REPORT;
+
+    String poolName() {
+        return name().toLowerCase();
+    }
+
+    String replicaPoolName() {
+        return poolName() + "-replica";
+    }
+}
@@ -0,0 +1,18 @@
+package com.rsfinance.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a bean's methods (on a type) or one method against the pool of the given workload. The choice
+ * is made when a transaction opens its connection: a method called inside a transaction that is
+ * already running keeps using that transaction's connection.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WorkloadPool {
+
+    Workload value();
+}
@@ -0,0 +1,32 @@
+package com.rsfinance.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Ahead of the transaction interceptor, so the workload is set before a connection is taken
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+class WorkloadPoolAspect {
+
+    @Around("@annotation(com.rsfinance.config.WorkloadPool) || @within(com.rsfinance.config.WorkloadPool)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        WorkloadPool workloadPool = AnnotationUtils.findAnnotation(((MethodSignature) joinPoint.getSignature()).getMethod(), WorkloadPool.class);
+        if (workloadPool == null) {
+            workloadPool = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(joinPoint.getTarget()), WorkloadPool.class);
+        }
+        Workload previous = WorkloadRoutingDataSource.use(workloadPool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.use(previous);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.rsfinance.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out connections from the pool of the current thread's workload, OLTP when none is set.
+ * Read-only transactions go to the workload's replica pool when there is one and the
+ * {@link ReplicaLagMonitor} says the replica is current enough. The transaction's read-only flag is
+ * only set after it has begun, so this sits behind a LazyConnectionDataSourceProxy, which asks for
+ * the connection at the first statement.
+ */
+final class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Workload> current = new ThreadLocal<>();
+
+    // Null without a replica
+    private final ReplicaLagMonitor replicaLag;
+
+    // Commit time of the last read-write transaction per workload on this node
+    private final Map<Workload, AtomicLong> lastWriteAt = new EnumMap<>(Workload.class);
+
+    WorkloadRoutingDataSource(ReplicaLagMonitor replicaLag) {
+        this.replicaLag = replicaLag;
+        for (Workload workload : Workload.values()) {
+            lastWriteAt.put(workload, new AtomicLong());
+        }
+    }
+
+    // Returns the workload that was set before, for restoring it afterwards
+    static Workload use(Workload workload) {
+        Workload previous = current.get();
+        if (workload != null) {
+            current.set(workload);
+        } else {
+            current.remove();
+        }
+        return previous;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload workload = currentWorkload();
+        if (replicaLag != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLag.hasApplied(lastWriteAt.get(workload).get())) {
+            return workload.replicaPoolName();
+        }
+        return workload.poolName();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        recordWriteOnCommit();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        recordWriteOnCommit();
+        return connection;
+    }
+
+    // Reads of the workload stay on the primary until the replica has applied this commit
+    private void recordWriteOnCommit() {
+        if (replicaLag == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        AtomicLong writeAt = lastWriteAt.get(currentWorkload());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writeAt.accumulateAndGet(System.currentTimeMillis(), Math::max);
+            }
+        });
+    }
+
+    private static Workload currentWorkload() {
+        Workload workload = current.get();
+        return workload != null ? workload : Workload.OLTP;
+    }
+}
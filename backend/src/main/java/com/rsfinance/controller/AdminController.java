@@ -0,0 +1,181 @@
+package com.rsfinance.controller;
+
+import com.rsfinance.config.Workload;
+import com.rsfinance.config.WorkloadPool;
+import com.rsfinance.dto.ApplicationListRow;
+import com.rsfinance.dto.ApplicationSelection;
+import com.rsfinance.dto.BulkOperationResult;
+import com.rsfinance.dto.BulkStatusUpdate;
+import com.rsfinance.dto.CursorPage;
+import com.rsfinance.dto.DashboardStats;
+import com.rsfinance.dto.MessageSelection;
+import com.rsfinance.dto.ReportRow;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.service.ApplicationExportService;
+import com.rsfinance.service.ApplicationReportService;
+import com.rsfinance.service.ApplicationStatisticsService;
+import com.rsfinance.service.BulkAdminService;
+import com.rsfinance.service.DailyRollupService;
+import com.rsfinance.service.LoanApplicationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@WorkloadPool(Workload.ADMIN)
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private LoanApplicationService loanApplicationService;
+
+    @Autowired
+    private ApplicationExportService applicationExportService;
+
+    @Autowired
+    private ApplicationStatisticsService applicationStatisticsService;
+
+    @Autowired
+    private ApplicationReportService applicationReportService;
+
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private BulkAdminService bulkAdminService;
+
+    // Dashboard endpoint
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStats> getDashboardStats() {
+        return ResponseEntity.ok(applicationStatisticsService.getDashboardStats());
+    }
+
+    // Reporting endpoints (served from the daily rollup)
+    @GetMapping("/reports/applications")
+    public ResponseEntity<List<ReportRow>> getApplicationReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "day") String groupBy,
+            @RequestParam(required = false) String loanType,
+            @RequestParam(required = false) LoanApplication.ApplicationStatus status) {
+        ApplicationReportService.GroupBy grouping;
+        try {
+            grouping = ApplicationReportService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(applicationReportService.getApplicationReport(startDate, endDate, grouping, loanType, status));
+    }
+
+    @PostMapping("/reports/rollup/backfill")
+    public ResponseEntity<Map<String, Long>> backfillRollup(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Map.of("days", dailyRollupService.backfill(startDate, endDate)));
+    }
+
+    // Application list endpoints
+    @GetMapping("/applications/scroll")
+    public ResponseEntity<CursorPage<ApplicationListRow>> scrollApplications(
+            @RequestParam(required = false) LoanApplication.ApplicationStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        String searchTerm = search != null && !search.isBlank() ? search.trim() : null;
+        try {
+            return ResponseEntity.ok(loanApplicationService.scrollApplications(status, searchTerm, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Applications sharing the normalized email or phone of the given one (possible duplicates)
+    @GetMapping("/applications/{id}/duplicates")
+    public ResponseEntity<List<ApplicationListRow>> getPossibleDuplicates(@PathVariable Long id) {
+        return loanApplicationService.getPossibleDuplicates(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Bulk endpoints: the body selects by ids or by filter, the response counts the selected and affected rows
+    @PostMapping("/applications/bulk/status")
+    public ResponseEntity<BulkOperationResult> updateApplicationStatuses(@RequestBody BulkStatusUpdate update, Principal principal) {
+        return bulk(() -> bulkAdminService.updateApplicationStatus(update, principal.getName()));
+    }
+
+    @PostMapping("/applications/bulk/delete")
+    public ResponseEntity<BulkOperationResult> deleteApplications(@RequestBody ApplicationSelection selection) {
+        return bulk(() -> bulkAdminService.deleteApplications(selection));
+    }
+
+    @PostMapping("/contact-messages/bulk/read")
+    public ResponseEntity<BulkOperationResult> updateMessageReadStatus(
+            @RequestBody MessageSelection selection,
+            @RequestParam(defaultValue = "true") boolean read) {
+        return bulk(() -> bulkAdminService.updateMessageReadStatus(selection, read));
+    }
+
+    @PostMapping("/contact-messages/bulk/delete")
+    public ResponseEntity<BulkOperationResult> deleteMessages(@RequestBody MessageSelection selection) {
+        return bulk(() -> bulkAdminService.deleteMessages(selection));
+    }
+
+    private static ResponseEntity<BulkOperationResult> bulk(Supplier<BulkOperationResult> operation) {
+        try {
+            return ResponseEntity.ok(operation.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Export endpoints
+    @GetMapping("/applications/export")
+    public ResponseEntity<StreamingResponseBody> exportApplications(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        ApplicationExportService.Format exportFormat;
+        try {
+            exportFormat = ApplicationExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = "applications-" + FILE_DATE.format(startDate) + "-" + FILE_DATE.format(endDate)
+            + "." + exportFormat.getExtension();
+
+        // Rows are written on the async request thread as they are read, never buffered as a whole
+        StreamingResponseBody body = out ->
+            applicationExportService.exportApplications(exportFormat, startDate, endDate, out);
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .body(body);
+    }
+}
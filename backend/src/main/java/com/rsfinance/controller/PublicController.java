@@ -1,18 +1,26 @@
 package com.rsfinance.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.rsfinance.dto.ApplicationStatusView;
+import com.rsfinance.dto.BatchSubmissionResult;
 import com.rsfinance.model.ContactMessage;
 import com.rsfinance.model.LoanApplication;
 import com.rsfinance.model.LoanType;
-import com.rsfinance.model.OrganizationInfo;
+import com.rsfinance.service.ApplicationIntakeService;
+import com.rsfinance.service.CachedJson;
 import com.rsfinance.service.ContactMessageService;
 import com.rsfinance.service.LoanApplicationService;
 import com.rsfinance.service.LoanTypeService;
 import com.rsfinance.service.OrganizationInfoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Optional;
 
 @RestController
@@ -26,6 +34,9 @@ public class PublicController {
     @Autowired
     private LoanApplicationService loanApplicationService;
     
+    @Autowired
+    private ApplicationIntakeService applicationIntakeService;
+    
     @Autowired
     private OrganizationInfoService organizationInfoService;
     
@@ -34,9 +45,14 @@ public class PublicController {
     
     // Loan Types endpoints
     @GetMapping("/loan-types")
-    public ResponseEntity<List<LoanType>> getActiveLoanTypes() {
-        List<LoanType> loanTypes = loanTypeService.getActiveLoanTypes();
-        return ResponseEntity.ok(loanTypes);
+    public ResponseEntity<byte[]> getActiveLoanTypes() {
+        // Spring answers 304 on its own when If-None-Match matches the ETag
+        CachedJson loanTypes = loanTypeService.getActiveLoanTypesJson();
+        return ResponseEntity.ok()
+            .eTag(loanTypes.getEtag())
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(loanTypes.getBody());
     }
     
     @GetMapping("/loan-types/{id}")
@@ -57,27 +73,45 @@ public class PublicController {
         }
     }
     
+    // Bulk intake for partner channels: a JSON array or NDJSON, answered with one result per item
+    @PostMapping(value = "/applications/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchSubmissionResult> submitApplications(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(applicationIntakeService.submitJsonArray(body));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping(value = "/applications/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchSubmissionResult> submitApplicationsNdjson(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(applicationIntakeService.submitNdjson(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/applications/{applicationId}")
-    public ResponseEntity<LoanApplication> getApplicationStatus(@PathVariable String applicationId) {
-        Optional<LoanApplication> application = loanApplicationService.getApplicationByApplicationId(applicationId);
-        return application.map(app -> {
-            // Return limited information for security
-            LoanApplication publicApp = new LoanApplication();
-            publicApp.setApplicationId(app.getApplicationId());
-            publicApp.setStatus(app.getStatus());
-            publicApp.setCreatedAt(app.getCreatedAt());
-            publicApp.setUpdatedAt(app.getUpdatedAt());
-            publicApp.setLoanType(app.getLoanType());
-            publicApp.setLoanAmount(app.getLoanAmount());
-            return ResponseEntity.ok(publicApp);
-        }).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<ApplicationStatusView> getApplicationStatus(@PathVariable String applicationId) {
+        // Only the public fields are selected from the database
+        return loanApplicationService.getApplicationStatusView(applicationId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
     
     // Organization Info endpoint
     @GetMapping("/organization")
-    public ResponseEntity<OrganizationInfo> getOrganizationInfo() {
-        OrganizationInfo info = organizationInfoService.getOrganizationInfo();
-        return ResponseEntity.ok(info);
+    public ResponseEntity<byte[]> getOrganizationInfo() {
+        // Served from memory; conditional requests are answered with 304 by Spring
+        CachedJson info = organizationInfoService.getOrganizationInfoJson();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(info.getEtag())
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic());
+        if (info.getLastModified() > 0) {
+            response.lastModified(info.getLastModified());
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(info.getBody());
     }
     
     // Contact Message endpoint
@@ -0,0 +1,75 @@
+package com.rsfinance.dto;
+
+import com.rsfinance.model.LoanApplication;
+import java.time.LocalDateTime;
+
+// One line of the admin application list; the full record is fetched by id when an application is opened
+public class ApplicationListRow {
+    private final Long id;
+    private final String applicationId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+    private final String city;
+    private final String loanType;
+    private final Long loanAmount;
+    private final Long monthlyIncome;
+    private final String employmentType;
+    private final LoanApplication.ApplicationStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime reviewedAt;
+    private final String possibleDuplicateOf;
+
+    public ApplicationListRow(Long id, String applicationId, String firstName, String lastName, String email,
+                              String phone, String city, String loanType, Long loanAmount, Long monthlyIncome,
+                              String employmentType, LoanApplication.ApplicationStatus status,
+                              LocalDateTime createdAt, LocalDateTime reviewedAt, String possibleDuplicateOf) {
+        this.id = id;
+        this.applicationId = applicationId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.city = city;
+        this.loanType = loanType;
+        this.loanAmount = loanAmount;
+        this.monthlyIncome = monthlyIncome;
+        this.employmentType = employmentType;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.reviewedAt = reviewedAt;
+        this.possibleDuplicateOf = possibleDuplicateOf;
+    }
+
+    public Long getId() { return id; }
+
+    public String getApplicationId() { return applicationId; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+
+    public String getEmail() { return email; }
+
+    public String getPhone() { return phone; }
+
+    public String getCity() { return city; }
+
+    public String getLoanType() { return loanType; }
+
+    public Long getLoanAmount() { return loanAmount; }
+
+    public Long getMonthlyIncome() { return monthlyIncome; }
+
+    public String getEmploymentType() { return employmentType; }
+
+    public LoanApplication.ApplicationStatus getStatus() { return status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getReviewedAt() { return reviewedAt; }
+
+    // Application ID of an earlier application with the same email or phone, or null
+    public String getPossibleDuplicateOf() { return possibleDuplicateOf; }
+}
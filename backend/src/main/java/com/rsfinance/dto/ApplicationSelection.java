@@ -0,0 +1,25 @@
+package com.rsfinance.dto;
+
+import com.rsfinance.model.LoanApplication;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Applications for a bulk admin operation: either explicit ids or a filter, not both
+public class ApplicationSelection {
+    private List<Long> ids;
+    private LoanApplication.ApplicationStatus status;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public LoanApplication.ApplicationStatus getStatus() { return status; }
+    public void setStatus(LoanApplication.ApplicationStatus status) { this.status = status; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+    public LocalDateTime getEndDate() { return endDate; }
+    public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+}
@@ -0,0 +1,41 @@
+package com.rsfinance.dto;
+
+import com.rsfinance.model.LoanApplication;
+import java.time.LocalDateTime;
+
+// What an applicant may see about their application; built directly by a JPQL constructor expression
+public class ApplicationStatusView {
+    private final String applicationId;
+    private final LoanApplication.ApplicationStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String loanType;
+    private final Long loanAmount;
+
+    public ApplicationStatusView(String applicationId, LoanApplication.ApplicationStatus status, LocalDateTime createdAt,
+                                 LocalDateTime updatedAt, String loanType, Long loanAmount) {
+        this.applicationId = applicationId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.loanType = loanType;
+        this.loanAmount = loanAmount;
+    }
+
+    public static ApplicationStatusView of(LoanApplication application) {
+        return new ApplicationStatusView(application.getApplicationId(), application.getStatus(), application.getCreatedAt(),
+            application.getUpdatedAt(), application.getLoanType(), application.getLoanAmount());
+    }
+
+    public String getApplicationId() { return applicationId; }
+
+    public LoanApplication.ApplicationStatus getStatus() { return status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public String getLoanType() { return loanType; }
+
+    public Long getLoanAmount() { return loanAmount; }
+}
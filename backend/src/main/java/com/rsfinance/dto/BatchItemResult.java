@@ -0,0 +1,47 @@
+package com.rsfinance.dto;
+
+import java.util.List;
+
+public class BatchItemResult {
+    public enum Status {
+        // Stored; applicationId is set
+        ACCEPTED,
+        // Malformed or invalid; errors say why. Resubmitting unchanged will fail again
+        REJECTED,
+        // Valid but the database write failed; safe to resubmit
+        FAILED
+    }
+
+    private final int index;
+    private final Status status;
+    private final String applicationId;
+    private final List<String> errors;
+
+    private BatchItemResult(int index, Status status, String applicationId, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.applicationId = applicationId;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult accepted(int index, String applicationId) {
+        return new BatchItemResult(index, Status.ACCEPTED, applicationId, List.of());
+    }
+
+    public static BatchItemResult rejected(int index, List<String> errors) {
+        return new BatchItemResult(index, Status.REJECTED, null, errors);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, List.of(error));
+    }
+
+    // Zero-based position of the item in the submitted array or NDJSON stream (blank lines are not counted)
+    public int getIndex() { return index; }
+
+    public Status getStatus() { return status; }
+
+    public String getApplicationId() { return applicationId; }
+
+    public List<String> getErrors() { return errors; }
+}
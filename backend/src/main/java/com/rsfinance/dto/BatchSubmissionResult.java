@@ -0,0 +1,38 @@
+package com.rsfinance.dto;
+
+import java.util.List;
+
+public class BatchSubmissionResult {
+    private final int received;
+    private final int accepted;
+    private final int rejected;
+    private final int failed;
+    private final List<BatchItemResult> items;
+
+    public BatchSubmissionResult(List<BatchItemResult> items) {
+        int acceptedCount = 0;
+        int rejectedCount = 0;
+        for (BatchItemResult item : items) {
+            if (item.getStatus() == BatchItemResult.Status.ACCEPTED) {
+                acceptedCount++;
+            } else if (item.getStatus() == BatchItemResult.Status.REJECTED) {
+                rejectedCount++;
+            }
+        }
+        this.received = items.size();
+        this.accepted = acceptedCount;
+        this.rejected = rejectedCount;
+        this.failed = items.size() - acceptedCount - rejectedCount;
+        this.items = items;
+    }
+
+    public int getReceived() { return received; }
+
+    public int getAccepted() { return accepted; }
+
+    public int getRejected() { return rejected; }
+
+    public int getFailed() { return failed; }
+
+    public List<BatchItemResult> getItems() { return items; }
+}
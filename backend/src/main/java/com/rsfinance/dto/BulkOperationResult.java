@@ -0,0 +1,17 @@
+package com.rsfinance.dto;
+
+public class BulkOperationResult {
+    // Distinct ids given, or rows that matched the filter
+    private final long selected;
+    // Rows actually changed or deleted
+    private final long affected;
+
+    public BulkOperationResult(long selected, long affected) {
+        this.selected = selected;
+        this.affected = affected;
+    }
+
+    public long getSelected() { return selected; }
+
+    public long getAffected() { return affected; }
+}
@@ -0,0 +1,15 @@
+package com.rsfinance.dto;
+
+import com.rsfinance.model.LoanApplication;
+
+// The selected applications move to newStatus; status, if given, only filters the selection
+public class BulkStatusUpdate extends ApplicationSelection {
+    private LoanApplication.ApplicationStatus newStatus;
+    private String comments;
+
+    public LoanApplication.ApplicationStatus getNewStatus() { return newStatus; }
+    public void setNewStatus(LoanApplication.ApplicationStatus newStatus) { this.newStatus = newStatus; }
+
+    public String getComments() { return comments; }
+    public void setComments(String comments) { this.comments = comments; }
+}
@@ -0,0 +1,21 @@
+package com.rsfinance.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public List<T> getContent() { return content; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+}
@@ -0,0 +1,41 @@
+package com.rsfinance.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class DashboardStats {
+    private final long totalApplications;
+    private final Map<String, Long> applicationsByStatus;
+    private final Map<String, Long> applicationsByLoanType;
+    // Calendar-day windows ending today: 1, 7 and 30 days
+    private final long todayApplications;
+    private final long thisWeekApplications;
+    private final long thisMonthApplications;
+    private final LocalDateTime reconciledAt;
+
+    public DashboardStats(long totalApplications, Map<String, Long> applicationsByStatus,
+                          Map<String, Long> applicationsByLoanType, long todayApplications,
+                          long thisWeekApplications, long thisMonthApplications, LocalDateTime reconciledAt) {
+        this.totalApplications = totalApplications;
+        this.applicationsByStatus = applicationsByStatus;
+        this.applicationsByLoanType = applicationsByLoanType;
+        this.todayApplications = todayApplications;
+        this.thisWeekApplications = thisWeekApplications;
+        this.thisMonthApplications = thisMonthApplications;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotalApplications() { return totalApplications; }
+
+    public Map<String, Long> getApplicationsByStatus() { return applicationsByStatus; }
+
+    public Map<String, Long> getApplicationsByLoanType() { return applicationsByLoanType; }
+
+    public long getTodayApplications() { return todayApplications; }
+
+    public long getThisWeekApplications() { return thisWeekApplications; }
+
+    public long getThisMonthApplications() { return thisMonthApplications; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+}
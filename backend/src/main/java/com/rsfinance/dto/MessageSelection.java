@@ -0,0 +1,24 @@
+package com.rsfinance.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Contact messages for a bulk admin operation: either explicit ids or a filter, not both
+public class MessageSelection {
+    private List<Long> ids;
+    private Boolean isRead;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Boolean getIsRead() { return isRead; }
+    public void setIsRead(Boolean isRead) { this.isRead = isRead; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+    public LocalDateTime getEndDate() { return endDate; }
+    public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+}
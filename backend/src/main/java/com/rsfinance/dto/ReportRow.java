@@ -0,0 +1,26 @@
+package com.rsfinance.dto;
+
+public class ReportRow {
+    private final String key;
+    private long applicationCount;
+    private long loanAmountSum;
+    private long monthlyIncomeSum;
+
+    public ReportRow(String key) {
+        this.key = key;
+    }
+
+    public void add(long applicationCount, long loanAmountSum, long monthlyIncomeSum) {
+        this.applicationCount += applicationCount;
+        this.loanAmountSum += loanAmountSum;
+        this.monthlyIncomeSum += monthlyIncomeSum;
+    }
+
+    public String getKey() { return key; }
+
+    public long getApplicationCount() { return applicationCount; }
+
+    public long getLoanAmountSum() { return loanAmountSum; }
+
+    public long getMonthlyIncomeSum() { return monthlyIncomeSum; }
+}
@@ -0,0 +1,62 @@
+package com.rsfinance.model;
+
+import java.util.Locale;
+
+/**
+ * Normalized forms of an applicant's email and phone, stored in loan_applications.email_key and
+ * phone_key for duplicate detection. V7__duplicate_detection_keys.sql applies the same rules to
+ * existing rows, so the two must be changed together.
+ */
+public final class ApplicantKeys {
+
+    // Indian mobile numbers: the last ten digits, without +91 or a leading 0
+    private static final int PHONE_DIGITS = 10;
+
+    private ApplicantKeys() {}
+
+    /**
+     * Lower-cases the address and drops a "+tag" from the local part. For Gmail the dots in the
+     * local part are ignored and googlemail.com is treated as gmail.com, as Gmail itself does.
+     * "John.Doe+loans@GoogleMail.com" becomes "johndoe@gmail.com".
+     */
+    public static String emailKey(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.indexOf('@');
+        if (at < 0) {
+            return normalized.isEmpty() ? null : normalized;
+        }
+        // Split like SUBSTRING_INDEX in the migration: up to the first '@' and after the last one
+        String local = normalized.substring(0, at);
+        String domain = normalized.substring(normalized.lastIndexOf('@') + 1);
+        int plus = local.indexOf('+');
+        if (plus >= 0) {
+            local = local.substring(0, plus);
+        }
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    // Digits only, keeping the last ten, so "+91 98300-12345" and "09830012345" give "9830012345"
+    public static String phoneKey(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() == 0) {
+            return null;
+        }
+        return digits.length() > PHONE_DIGITS ? digits.substring(digits.length() - PHONE_DIGITS) : digits.toString();
+    }
+}
@@ -6,7 +6,9 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contact_messages")
+@Table(name = "contact_messages", indexes = {
+    @Index(name = "idx_contact_messages_read_created", columnList = "is_read, created_at")
+})
 public class ContactMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,65 @@
+package com.rsfinance.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_application_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_application_stats_key", columnNames = {"stat_date", "loan_type", "status"})
+})
+public class DailyApplicationStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "loan_type", nullable = false)
+    private String loanType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private LoanApplication.ApplicationStatus status;
+
+    @Column(name = "application_count", nullable = false)
+    private Long applicationCount;
+
+    @Column(name = "loan_amount_sum", nullable = false)
+    private Long loanAmountSum;
+
+    @Column(name = "monthly_income_sum", nullable = false)
+    private Long monthlyIncomeSum;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public DailyApplicationStat() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getStatDate() { return statDate; }
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public String getLoanType() { return loanType; }
+    public void setLoanType(String loanType) { this.loanType = loanType; }
+
+    public LoanApplication.ApplicationStatus getStatus() { return status; }
+    public void setStatus(LoanApplication.ApplicationStatus status) { this.status = status; }
+
+    public Long getApplicationCount() { return applicationCount; }
+    public void setApplicationCount(Long applicationCount) { this.applicationCount = applicationCount; }
+
+    public Long getLoanAmountSum() { return loanAmountSum; }
+    public void setLoanAmountSum(Long loanAmountSum) { this.loanAmountSum = loanAmountSum; }
+
+    public Long getMonthlyIncomeSum() { return monthlyIncomeSum; }
+    public void setMonthlyIncomeSum(Long monthlyIncomeSum) { this.monthlyIncomeSum = monthlyIncomeSum; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
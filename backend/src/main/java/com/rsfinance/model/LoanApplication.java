@@ -1,5 +1,6 @@
 package com.rsfinance.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -9,10 +10,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loan_applications")
+@Table(name = "loan_applications", indexes = {
+    @Index(name = "idx_loan_applications_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_loan_applications_created", columnList = "created_at"),
+    @Index(name = "idx_loan_applications_updated", columnList = "updated_at"),
+    @Index(name = "idx_loan_applications_loan_type", columnList = "loan_type"),
+    @Index(name = "idx_loan_applications_email_key_created", columnList = "email_key, created_at"),
+    @Index(name = "idx_loan_applications_phone_key_created", columnList = "phone_key, created_at")
+})
 public class LoanApplication {
+    // Pooled ids (one round trip per 50 rows) instead of IDENTITY, which rules out JDBC insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_applications_seq")
+    @SequenceGenerator(name = "loan_applications_seq", sequenceName = "loan_applications_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "First name is required")
@@ -129,6 +139,7 @@ public class LoanApplication {
     @Column(name = "status")
     private ApplicationStatus status = ApplicationStatus.PENDING;
 
+    // Assigned by ApplicationIdGenerator before the first save
     @Column(name = "application_id", unique = true)
     private String applicationId;
 
@@ -147,6 +158,21 @@ public class LoanApplication {
     @Column(name = "review_comments", columnDefinition = "TEXT")
     private String reviewComments;
 
+    // Duplicate detection keys, derived from email and phone on every write (see ApplicantKeys)
+    @JsonIgnore
+    @Column(name = "email_key")
+    private String emailKey;
+
+    @JsonIgnore
+    @Column(name = "phone_key", length = 20)
+    private String phoneKey;
+
+    // Application ID of an earlier application with the same email or phone key, set on submit.
+    // Never serialized with the entity: the applicant would learn someone else's application ID.
+    @JsonIgnore
+    @Column(name = "possible_duplicate_of", length = 20)
+    private String possibleDuplicateOf;
+
     public enum ApplicationStatus {
         PENDING, UNDER_REVIEW, APPROVED, REJECTED
     }
@@ -155,14 +181,18 @@ public class LoanApplication {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (applicationId == null) {
-            applicationId = "RSF" + System.currentTimeMillis();
-        }
+        updateKeys();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        updateKeys();
+    }
+
+    private void updateKeys() {
+        emailKey = ApplicantKeys.emailKey(email);
+        phoneKey = ApplicantKeys.phoneKey(phone);
     }
 
     // Constructors
@@ -285,4 +315,11 @@ public class LoanApplication {
 
     public String getReviewComments() { return reviewComments; }
     public void setReviewComments(String reviewComments) { this.reviewComments = reviewComments; }
+
+    public String getEmailKey() { return emailKey; }
+
+    public String getPhoneKey() { return phoneKey; }
+
+    public String getPossibleDuplicateOf() { return possibleDuplicateOf; }
+    public void setPossibleDuplicateOf(String possibleDuplicateOf) { this.possibleDuplicateOf = possibleDuplicateOf; }
 }
\ No newline at end of file
@@ -7,7 +7,9 @@ import jakarta.validation.constraints.Positive;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loan_types")
+@Table(name = "loan_types", indexes = {
+    @Index(name = "idx_loan_types_active_name", columnList = "is_active, name")
+})
 public class LoanType {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
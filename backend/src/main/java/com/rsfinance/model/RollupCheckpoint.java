@@ -0,0 +1,30 @@
+package com.rsfinance.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rollup_checkpoints")
+public class RollupCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime watermark;
+
+    // Constructors
+    public RollupCheckpoint() {}
+
+    public RollupCheckpoint(String name, LocalDateTime watermark) {
+        this.name = name;
+        this.watermark = watermark;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getWatermark() { return watermark; }
+    public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+}
@@ -4,8 +4,12 @@ import com.rsfinance.model.ContactMessage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +23,37 @@ public interface ContactMessageRepository extends JpaRepository<ContactMessage,
     long countUnreadMessages();
     
     List<ContactMessage> findBySubjectContainingIgnoreCase(String subject);
+    
+    // One UPDATE; returns 0 when there is no such message
+    @Modifying
+    @Query("UPDATE ContactMessage cm SET cm.isRead = :isRead WHERE cm.id = :id")
+    int updateReadStatus(@Param("id") Long id, @Param("isRead") boolean isRead);
+    
+    // One DELETE, where deleteById loads the entity first
+    @Modifying
+    @Query("DELETE FROM ContactMessage cm WHERE cm.id = :id")
+    int deleteMessageById(@Param("id") Long id);
+    
+    // Bulk admin operations: ids matching a filter in primary key chunks, then one statement per chunk
+    @Query("SELECT cm.id FROM ContactMessage cm WHERE " +
+           "(:isRead IS NULL OR cm.isRead = :isRead) AND " +
+           "(:startDate IS NULL OR cm.createdAt >= :startDate) AND " +
+           "(:endDate IS NULL OR cm.createdAt <= :endDate) AND " +
+           "cm.id > :afterId ORDER BY cm.id")
+    List<Long> findIdsByFilterAfter(
+        @Param("isRead") Boolean isRead,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    // Counts only the messages that actually change
+    @Modifying
+    @Query("UPDATE ContactMessage cm SET cm.isRead = :isRead WHERE cm.id IN :ids AND (cm.isRead IS NULL OR cm.isRead <> :isRead)")
+    int updateReadStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("isRead") boolean isRead);
+    
+    @Modifying
+    @Query("DELETE FROM ContactMessage cm WHERE cm.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.rsfinance.repository;
+
+import com.rsfinance.model.DailyApplicationStat;
+import com.rsfinance.model.LoanApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyApplicationStatRepository extends JpaRepository<DailyApplicationStat, Long> {
+    
+    @Query("SELECT ds FROM DailyApplicationStat ds WHERE " +
+           "ds.statDate BETWEEN :startDate AND :endDate AND " +
+           "(:loanType IS NULL OR ds.loanType = :loanType) AND " +
+           "(:status IS NULL OR ds.status = :status) " +
+           "ORDER BY ds.statDate")
+    List<DailyApplicationStat> findForReport(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("loanType") String loanType,
+        @Param("status") LoanApplication.ApplicationStatus status
+    );
+    
+    @Modifying
+    @Query(value = "DELETE FROM daily_application_stats WHERE stat_date >= :startDate AND stat_date < :endDate",
+           nativeQuery = true)
+    int deleteDays(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    // Rebuilds the rollup rows for [startDate, endDate) straight from loan_applications
+    @Modifying
+    @Query(value = "INSERT INTO daily_application_stats " +
+                   "(stat_date, loan_type, status, application_count, loan_amount_sum, monthly_income_sum, updated_at) " +
+                   "SELECT DATE(created_at), COALESCE(loan_type, 'UNSPECIFIED'), status, COUNT(*), " +
+                   "COALESCE(SUM(loan_amount), 0), COALESCE(SUM(monthly_income), 0), NOW(6) " +
+                   "FROM loan_applications WHERE created_at >= :startDate AND created_at < :endDate " +
+                   "GROUP BY DATE(created_at), COALESCE(loan_type, 'UNSPECIFIED'), status",
+           nativeQuery = true)
+    int insertDays(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    @Query(value = "SELECT DISTINCT DATE(created_at) FROM loan_applications WHERE updated_at >= :since",
+           nativeQuery = true)
+    List<Object> findDaysTouchedSince(@Param("since") LocalDateTime since);
+    
+    @Query(value = "SELECT MIN(DATE(created_at)) FROM loan_applications", nativeQuery = true)
+    Object findFirstApplicationDay();
+}
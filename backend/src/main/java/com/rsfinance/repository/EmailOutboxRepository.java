@@ -0,0 +1,32 @@
+package com.rsfinance.repository;
+
+import com.rsfinance.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    boolean existsByIdempotencyKey(String idempotencyKey);
+    
+    @Query("SELECT eo.idempotencyKey FROM EmailOutbox eo WHERE eo.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+    
+    // SKIP LOCKED lets several nodes drain the outbox without sending the same row twice
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    long countByStatus(EmailOutbox.Status status);
+    
+    @Modifying
+    @Query("DELETE FROM EmailOutbox eo WHERE eo.status = :status AND eo.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") EmailOutbox.Status status, @Param("before") LocalDateTime before);
+}
@@ -1,33 +1,135 @@
 package com.rsfinance.repository;
 
+import com.rsfinance.dto.ApplicationListRow;
+import com.rsfinance.dto.ApplicationStatusView;
 import com.rsfinance.model.LoanApplication;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long> {
     
     Optional<LoanApplication> findByApplicationId(String applicationId);
     
+    // DTO projections: only the listed columns are read and the results are not managed entities
+    @Query("SELECT new com.rsfinance.dto.ApplicationStatusView(" +
+           "la.applicationId, la.status, la.createdAt, la.updatedAt, la.loanType, la.loanAmount) " +
+           "FROM LoanApplication la WHERE la.applicationId = :applicationId")
+    Optional<ApplicationStatusView> findStatusViewByApplicationId(@Param("applicationId") String applicationId);
+    
+    String LIST_ROW = "new com.rsfinance.dto.ApplicationListRow(" +
+        "la.id, la.applicationId, la.firstName, la.lastName, la.email, la.phone, la.city, la.loanType, " +
+        "la.loanAmount, la.monthlyIncome, la.employmentType, la.status, la.createdAt, la.reviewedAt, la.possibleDuplicateOf)";
+    
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la WHERE la.id IN :ids")
+    List<ApplicationListRow> findListRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
     List<LoanApplication> findByStatus(LoanApplication.ApplicationStatus status);
     
     Page<LoanApplication> findByStatus(LoanApplication.ApplicationStatus status, Pageable pageable);
     
-    @Query("SELECT la FROM LoanApplication la WHERE " +
-           "(:status IS NULL OR la.status = :status) AND " +
-           "(:searchTerm IS NULL OR LOWER(la.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(la.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(la.applicationId) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<LoanApplication> findByStatusAndSearchTerm(
+    // Uses the ft_loan_applications_search FULLTEXT index; :query must be a sanitized BOOLEAN MODE expression
+    String FULL_TEXT_MATCH = "MATCH(first_name, last_name, email, phone, city, application_id) AGAINST (:query IN BOOLEAN MODE)";
+    
+    // Every query with a status filter has a variant without one: "(:status IS NULL OR ...)" would keep the
+    // optimizer off idx_loan_applications_status_created, since the plan is chosen before :status is known
+    @Query(value = "SELECT * FROM loan_applications WHERE " + FULL_TEXT_MATCH + " " +
+                   "ORDER BY " + FULL_TEXT_MATCH + " DESC, created_at DESC, id DESC",
+           countQuery = "SELECT COUNT(*) FROM loan_applications WHERE " + FULL_TEXT_MATCH,
+           nativeQuery = true)
+    Page<LoanApplication> searchByFullText(@Param("query") String query, Pageable pageable);
+    
+    @Query(value = "SELECT * FROM loan_applications WHERE status = :status AND " + FULL_TEXT_MATCH + " " +
+                   "ORDER BY " + FULL_TEXT_MATCH + " DESC, created_at DESC, id DESC",
+           countQuery = "SELECT COUNT(*) FROM loan_applications WHERE status = :status AND " + FULL_TEXT_MATCH,
+           nativeQuery = true)
+    Page<LoanApplication> searchByFullTextAndStatus(
+        @Param("status") String status,
+        @Param("query") String query,
+        Pageable pageable
+    );
+    
+    // Keyset (seek) paging, newest first: a List return type skips the COUNT query and no OFFSET is generated
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la ORDER BY la.createdAt DESC, la.id DESC")
+    List<ApplicationListRow> findFirstListRowPage(Pageable pageable);
+    
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la WHERE la.status = :status " +
+           "ORDER BY la.createdAt DESC, la.id DESC")
+    List<ApplicationListRow> findFirstListRowPageByStatus(
         @Param("status") LoanApplication.ApplicationStatus status,
-        @Param("searchTerm") String searchTerm,
+        Pageable pageable
+    );
+    
+    // "createdAt <= :createdAt" repeats the seek position as a plain range, which an index can serve; the OR alone cannot
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la WHERE " +
+           "la.createdAt <= :createdAt AND (la.createdAt < :createdAt OR (la.createdAt = :createdAt AND la.id < :id)) " +
+           "ORDER BY la.createdAt DESC, la.id DESC")
+    List<ApplicationListRow> findListRowPageAfter(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la WHERE la.status = :status AND " +
+           "la.createdAt <= :createdAt AND (la.createdAt < :createdAt OR (la.createdAt = :createdAt AND la.id < :id)) " +
+           "ORDER BY la.createdAt DESC, la.id DESC")
+    List<ApplicationListRow> findListRowPageByStatusAfter(
+        @Param("status") LoanApplication.ApplicationStatus status,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    // Full-text keyset pages return ids only; the rows are then loaded with findListRowsByIdIn
+    @Query(value = "SELECT id FROM loan_applications WHERE " + FULL_TEXT_MATCH + " " +
+                   "ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<Long> searchFirstKeysetIds(@Param("query") String query, Pageable pageable);
+    
+    @Query(value = "SELECT id FROM loan_applications WHERE status = :status AND " + FULL_TEXT_MATCH + " " +
+                   "ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<Long> searchFirstKeysetIdsByStatus(
+        @Param("status") String status,
+        @Param("query") String query,
+        Pageable pageable
+    );
+    
+    @Query(value = "SELECT id FROM loan_applications WHERE " + FULL_TEXT_MATCH + " AND " +
+                   "created_at <= :createdAt AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) " +
+                   "ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<Long> searchKeysetIdsAfter(
+        @Param("query") String query,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    @Query(value = "SELECT id FROM loan_applications WHERE status = :status AND " + FULL_TEXT_MATCH + " AND " +
+                   "created_at <= :createdAt AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id)) " +
+                   "ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<Long> searchKeysetIdsByStatusAfter(
+        @Param("status") String status,
+        @Param("query") String query,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
         Pageable pageable
     );
     
@@ -37,16 +139,98 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
     @Query("SELECT COUNT(la) FROM LoanApplication la WHERE la.createdAt >= :startDate")
     long countApplicationsAfterDate(@Param("startDate") LocalDateTime startDate);
     
+    @Query("SELECT la.status, COUNT(la) FROM LoanApplication la GROUP BY la.status")
+    List<Object[]> countApplicationsGroupedByStatus();
+    
+    @Query(value = "SELECT DATE(created_at), COUNT(*) FROM loan_applications " +
+                   "WHERE created_at >= :startDate GROUP BY DATE(created_at)",
+           nativeQuery = true)
+    List<Object[]> countApplicationsPerDaySince(@Param("startDate") LocalDateTime startDate);
+    
     @Query("SELECT la.loanType, COUNT(la) FROM LoanApplication la GROUP BY la.loanType")
     List<Object[]> countApplicationsByLoanType();
     
-    List<LoanApplication> findByEmailIgnoreCase(String email);
+    // Duplicate detection: one query per key, so each is answered from its (key, created_at) index
+    @Query("SELECT la.applicationId FROM LoanApplication la WHERE la.emailKey = :emailKey ORDER BY la.createdAt DESC")
+    List<String> findApplicationIdsByEmailKey(@Param("emailKey") String emailKey, Pageable pageable);
+    
+    @Query("SELECT la.applicationId FROM LoanApplication la WHERE la.phoneKey = :phoneKey ORDER BY la.createdAt DESC")
+    List<String> findApplicationIdsByPhoneKey(@Param("phoneKey") String phoneKey, Pageable pageable);
+    
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la WHERE la.emailKey = :emailKey AND la.id <> :id " +
+           "ORDER BY la.createdAt DESC")
+    List<ApplicationListRow> findListRowsByEmailKey(@Param("emailKey") String emailKey, @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT " + LIST_ROW + " FROM LoanApplication la WHERE la.phoneKey = :phoneKey AND la.id <> :id " +
+           "ORDER BY la.createdAt DESC")
+    List<ApplicationListRow> findListRowsByPhoneKey(@Param("phoneKey") String phoneKey, @Param("id") Long id, Pageable pageable);
+    
+    // Key pages in primary key order for loading the duplicate filter
+    @Query("SELECT la.id, la.emailKey, la.phoneKey FROM LoanApplication la WHERE la.id > :afterId ORDER BY la.id")
+    List<Object[]> findDuplicateKeysAfterId(@Param("afterId") Long afterId, Pageable pageable);
     
-    List<LoanApplication> findByPhoneIgnoreCase(String phone);
+    @Query("SELECT la.emailKey, la.phoneKey FROM LoanApplication la WHERE la.createdAt >= :since")
+    List<Object[]> findDuplicateKeysCreatedSince(@Param("since") LocalDateTime since);
     
     @Query("SELECT la FROM LoanApplication la WHERE la.createdAt BETWEEN :startDate AND :endDate")
     List<LoanApplication> findApplicationsBetweenDates(
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
+    
+    // Bulk admin operations: ids matching a filter in primary key chunks, then each chunk locked and changed at once.
+    // The date range is always bound (the caller fills open ends), so both variants can range-scan an index.
+    @Query("SELECT la.id FROM LoanApplication la WHERE la.status = :status AND " +
+           "la.createdAt BETWEEN :startDate AND :endDate AND la.id > :afterId ORDER BY la.id")
+    List<Long> findIdsByStatusCreatedBetweenAfter(
+        @Param("status") LoanApplication.ApplicationStatus status,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query("SELECT la.id FROM LoanApplication la WHERE " +
+           "la.createdAt BETWEEN :startDate AND :endDate AND la.id > :afterId ORDER BY la.id")
+    List<Long> findIdsCreatedBetweenAfter(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    // Read-only: the caller edits these copies for the emails, and the change itself goes out as one UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT la FROM LoanApplication la WHERE la.id IN :ids")
+    List<LoanApplication> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Bulk statements skip @PreUpdate, so updatedAt (the rollup watermark) is set here
+    @Modifying
+    @Query("UPDATE LoanApplication la SET la.status = :status, la.reviewedBy = :reviewedBy, " +
+           "la.reviewComments = :comments, la.reviewedAt = :reviewedAt, la.updatedAt = :reviewedAt " +
+           "WHERE la.id IN :ids")
+    int updateStatusByIdIn(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") LoanApplication.ApplicationStatus status,
+        @Param("reviewedBy") String reviewedBy,
+        @Param("comments") String comments,
+        @Param("reviewedAt") LocalDateTime reviewedAt
+    );
+    
+    @Modifying
+    @Query("DELETE FROM LoanApplication la WHERE la.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Row-by-row cursor for exports: MySQL Connector/J only streams when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT la FROM LoanApplication la WHERE la.createdAt BETWEEN :startDate AND :endDate ORDER BY la.createdAt, la.id")
+    Stream<LoanApplication> streamApplicationsBetweenDates(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.rsfinance.repository;
 
 import com.rsfinance.model.LoanType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +21,10 @@ public interface LoanTypeRepository extends JpaRepository<LoanType, Long> {
     List<LoanType> findActiveLoanTypesOrderByName();
     
     boolean existsByNameIgnoreCase(String name);
+    
+    // One UPDATE; bulk updates skip @PreUpdate, so updatedAt is set here
+    @Modifying
+    @Query("UPDATE LoanType lt SET lt.isActive = CASE WHEN lt.isActive = true THEN false ELSE true END, " +
+           "lt.updatedAt = :updatedAt WHERE lt.id = :id")
+    int toggleActive(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.rsfinance.repository;
+
+import com.rsfinance.model.RollupCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface RollupCheckpointRepository extends JpaRepository<RollupCheckpoint, String> {
+    
+    // SELECT ... FOR UPDATE: held until the run commits, so only one node rolls up at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rc FROM RollupCheckpoint rc WHERE rc.name = :name")
+    Optional<RollupCheckpoint> findByNameForUpdate(@Param("name") String name);
+}
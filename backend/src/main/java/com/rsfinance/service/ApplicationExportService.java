@@ -0,0 +1,186 @@
+package com.rsfinance.service;
+
+import com.opencsv.CSVWriter;
+import com.rsfinance.config.Workload;
+import com.rsfinance.config.WorkloadPool;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@WorkloadPool(Workload.REPORT)
+@Service
+public class ApplicationExportService {
+
+    // Entities are evicted from the persistence context every CLEAR_INTERVAL rows so memory stays flat
+    private static final int CLEAR_INTERVAL = 500;
+
+    // Rows kept in memory by SXSSF before older rows are flushed to the temp file
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    // A sheet holds 1,048,576 rows; after the header, this many applications fit before the next sheet starts
+    private static final int XLSX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+    private static final String[] HEADERS = {
+        "Application ID", "Status", "Created At", "First Name", "Last Name", "Email", "Phone",
+        "Date of Birth", "Gender", "Marital Status", "City", "State", "Pincode", "Residence Type",
+        "Employment Type", "Company Name", "Designation", "Work Experience", "Monthly Income",
+        "Additional Income", "Loan Type", "Loan Amount", "Preferred Tenure", "Loan Purpose",
+        "Reviewed At", "Reviewed By", "Review Comments"
+    };
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportApplications(Format format, LocalDateTime startDate, LocalDateTime endDate, OutputStream out) throws IOException {
+        try (Stream<LoanApplication> applications = loanApplicationRepository.streamApplicationsBetweenDates(startDate, endDate)) {
+            if (format == Format.XLSX) {
+                return writeXlsx(applications.iterator(), out);
+            }
+            return writeCsv(applications.iterator(), out);
+        }
+    }
+
+    private long writeCsv(Iterator<LoanApplication> applications, OutputStream out) throws IOException {
+        // Not closed on purpose: the servlet container owns the response stream
+        CSVWriter csvWriter = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        csvWriter.writeNext(HEADERS, false);
+
+        String[] line = new String[HEADERS.length];
+        long count = 0;
+        while (applications.hasNext()) {
+            Object[] values = toValues(applications.next());
+            for (int i = 0; i < values.length; i++) {
+                line[i] = values[i] != null ? values[i].toString() : "";
+            }
+            csvWriter.writeNext(line, false);
+
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                csvWriter.flush();
+            }
+        }
+        csvWriter.flush();
+        return count;
+    }
+
+    private long writeXlsx(Iterator<LoanApplication> applications, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = createSheet(workbook, 1);
+            int sheetRow = 0;
+            long count = 0;
+            while (applications.hasNext()) {
+                Object[] values = toValues(applications.next());
+                if (sheetRow == XLSX_ROWS_PER_SHEET) {
+                    sheet = createSheet(workbook, workbook.getNumberOfSheets() + 1);
+                    sheetRow = 0;
+                }
+                Row row = sheet.createRow(++sheetRow);
+                count++;
+                for (int i = 0; i < values.length; i++) {
+                    Object value = values[i];
+                    if (value == null) {
+                        continue;
+                    }
+                    Cell cell = row.createCell(i);
+                    if (value instanceof Number number) {
+                        cell.setCellValue(number.doubleValue());
+                    } else {
+                        cell.setCellValue(value.toString());
+                    }
+                }
+
+                if (count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+            workbook.write(out);
+            out.flush();
+            return count;
+        } finally {
+            // Removes the temporary files backing the flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    // "Applications", then "Applications 2", "Applications 3", ... for exports past one sheet
+    private static Sheet createSheet(SXSSFWorkbook workbook, int number) {
+        Sheet sheet = workbook.createSheet(number == 1 ? "Applications" : "Applications " + number);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+        }
+        return sheet;
+    }
+
+    private Object[] toValues(LoanApplication application) {
+        return new Object[] {
+            application.getApplicationId(),
+            application.getStatus(),
+            application.getCreatedAt(),
+            application.getFirstName(),
+            application.getLastName(),
+            application.getEmail(),
+            application.getPhone(),
+            application.getDateOfBirth(),
+            application.getGender(),
+            application.getMaritalStatus(),
+            application.getCity(),
+            application.getState(),
+            application.getPincode(),
+            application.getResidenceType(),
+            application.getEmploymentType(),
+            application.getCompanyName(),
+            application.getDesignation(),
+            application.getWorkExperience(),
+            application.getMonthlyIncome(),
+            application.getAdditionalIncome(),
+            application.getLoanType(),
+            application.getLoanAmount(),
+            application.getPreferredTenure(),
+            application.getLoanPurpose(),
+            application.getReviewedAt(),
+            application.getReviewedBy(),
+            application.getReviewComments()
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.rsfinance.service;
+
+// Source of the public application IDs ("RSF..."); replace the bean to change the scheme
+public interface ApplicationIdGenerator {
+
+    // Unique across threads and nodes; IDs from one node are strictly increasing
+    String nextId();
+
+    // False only for IDs this scheme can never have issued (e.g. a wrong check character), so lookups can skip the database
+    boolean isPlausible(String applicationId);
+}
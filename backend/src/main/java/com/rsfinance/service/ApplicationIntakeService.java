@@ -0,0 +1,208 @@
+package com.rsfinance.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rsfinance.dto.BatchItemResult;
+import com.rsfinance.dto.BatchSubmissionResult;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk intake for partner channels. Items are parsed and validated one by one, so a bad item only
+ * rejects itself. Valid items are inserted in chunks of app.intake.batch-size, one transaction per
+ * chunk, together with their outbox emails. Hibernate sends each chunk as JDBC batches.
+ */
+@Service
+public class ApplicationIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationIntakeService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ApplicationIdGenerator applicationIdGenerator;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ApplicationStatisticsService applicationStatisticsService;
+
+    @Autowired
+    private ApplicationStatusCache applicationStatusCache;
+
+    @Autowired
+    private DuplicateApplicationDetector duplicateApplicationDetector;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.intake.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.intake.max-items:1000}")
+    private int maxItems;
+
+    // Body is a JSON array of applications; a syntax error in the array itself fails the whole request
+    public BatchSubmissionResult submitJsonArray(InputStream body) throws IOException {
+        Intake intake = new Intake();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of applications");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Unexpected end of JSON array");
+                }
+                JsonNode item = parser.readValueAsTree();
+                intake.next();
+                try {
+                    intake.accept(objectMapper.treeToValue(item, LoanApplication.class));
+                } catch (JsonProcessingException e) {
+                    intake.reject("Malformed application: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return store(intake);
+    }
+
+    // Body is one application per line (NDJSON); blank lines are skipped
+    public BatchSubmissionResult submitNdjson(InputStream body) throws IOException {
+        Intake intake = new Intake();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            intake.next();
+            try {
+                intake.accept(objectMapper.readValue(line, LoanApplication.class));
+            } catch (JsonProcessingException e) {
+                intake.reject("Malformed application: " + e.getOriginalMessage());
+            }
+        }
+        return store(intake);
+    }
+
+    private BatchSubmissionResult store(Intake intake) {
+        List<Integer> indexes = intake.validIndexes;
+        List<LoanApplication> applications = intake.validApplications;
+        for (int from = 0; from < applications.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, applications.size());
+            List<LoanApplication> chunk = applications.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(chunk));
+            } catch (RuntimeException e) {
+                log.warn("Bulk intake chunk of {} application(s) failed: {}", chunk.size(), e.getMessage());
+                for (int i = from; i < to; i++) {
+                    intake.results.set(indexes.get(i), BatchItemResult.failed(indexes.get(i), "Could not be stored, please resubmit"));
+                }
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                LoanApplication application = applications.get(i);
+                intake.results.set(indexes.get(i), BatchItemResult.accepted(indexes.get(i), application.getApplicationId()));
+                applicationStatisticsService.recordSubmitted(application);
+            }
+        }
+        return new BatchSubmissionResult(intake.results);
+    }
+
+    private void insertChunk(List<LoanApplication> chunk) {
+        for (LoanApplication application : chunk) {
+            application.setPossibleDuplicateOf(duplicateApplicationDetector.findPossibleDuplicate(application));
+        }
+        List<LoanApplication> saved = loanApplicationRepository.saveAll(chunk);
+        emailService.sendApplicationEmails(saved);
+        for (LoanApplication application : saved) {
+            applicationStatusCache.put(application);
+            duplicateApplicationDetector.record(application);
+        }
+        // Send the batched inserts now and keep the (request-scoped) persistence context small
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private final class Intake {
+        final List<BatchItemResult> results = new ArrayList<>();
+        final List<Integer> validIndexes = new ArrayList<>();
+        final List<LoanApplication> validApplications = new ArrayList<>();
+        int index = -1;
+
+        void next() {
+            if (++index >= maxItems) {
+                throw new IllegalArgumentException("A batch may contain at most " + maxItems + " applications");
+            }
+        }
+
+        void accept(LoanApplication application) {
+            if (application == null) {
+                reject("Application must be a JSON object");
+                return;
+            }
+            // Fields owned by the server are never taken from the partner
+            application.setId(null);
+            application.setStatus(LoanApplication.ApplicationStatus.PENDING);
+            application.setReviewedAt(null);
+            application.setReviewedBy(null);
+            application.setReviewComments(null);
+
+            Set<ConstraintViolation<LoanApplication>> violations = validator.validate(application);
+            if (!violations.isEmpty()) {
+                List<String> errors = new ArrayList<>(violations.size());
+                for (ConstraintViolation<LoanApplication> violation : violations) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                errors.sort(null);
+                reject(errors);
+                return;
+            }
+            application.setApplicationId(applicationIdGenerator.nextId());
+            // Placeholder until the chunk containing this item is stored
+            results.add(null);
+            validIndexes.add(index);
+            validApplications.add(application);
+        }
+
+        void reject(String error) {
+            reject(List.of(error));
+        }
+
+        void reject(List<String> errors) {
+            results.add(BatchItemResult.rejected(index, errors));
+        }
+    }
+}
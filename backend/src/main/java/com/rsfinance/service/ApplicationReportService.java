@@ -0,0 +1,57 @@
+package com.rsfinance.service;
+
+import com.rsfinance.dto.ReportRow;
+import com.rsfinance.model.DailyApplicationStat;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.DailyApplicationStatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Answers date-range reports from daily_application_stats: a year is at most 365 x types x statuses rows
+@Service
+public class ApplicationReportService {
+
+    public enum GroupBy {
+        DAY, WEEK, MONTH, LOAN_TYPE, STATUS, NONE
+    }
+
+    @Autowired
+    private DailyApplicationStatRepository dailyApplicationStatRepository;
+
+    public List<ReportRow> getApplicationReport(LocalDate startDate, LocalDate endDate, GroupBy groupBy,
+                                                String loanType, LoanApplication.ApplicationStatus status) {
+        Map<String, ReportRow> rows = new TreeMap<>();
+        for (DailyApplicationStat stat : dailyApplicationStatRepository.findForReport(startDate, endDate, loanType, status)) {
+            String key = groupKey(stat, groupBy);
+            rows.computeIfAbsent(key, ReportRow::new)
+                .add(stat.getApplicationCount(), stat.getLoanAmountSum(), stat.getMonthlyIncomeSum());
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private String groupKey(DailyApplicationStat stat, GroupBy groupBy) {
+        LocalDate day = stat.getStatDate();
+        switch (groupBy) {
+            case DAY:
+                return day.toString();
+            case WEEK:
+                // ISO weeks, keyed by their Monday
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+            case MONTH:
+                return day.toString().substring(0, 7);
+            case LOAN_TYPE:
+                return stat.getLoanType();
+            case STATUS:
+                return stat.getStatus() != null ? stat.getStatus().name() : "UNKNOWN";
+            default:
+                return "TOTAL";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.rsfinance.service;
+
+// Turns free text typed by an admin into a MySQL BOOLEAN MODE expression for the applications FULLTEXT index
+public final class ApplicationSearchQuery {
+
+    // Guards against pathological inputs; nobody searches for more words than this
+    private static final int MAX_TERMS = 8;
+
+    private ApplicationSearchQuery() {}
+
+    /**
+     * Splits the input the same way the InnoDB full-text parser does (on anything that is not a
+     * letter or digit) and requires every term as a prefix, e.g. "john 98300" becomes
+     * "+john* +98300*". Operator characters never reach MySQL. Returns null when nothing searchable is left.
+     */
+    public static String toBooleanMode(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        int terms = 0;
+        int length = searchTerm.length();
+        int i = 0;
+        while (i < length && terms < MAX_TERMS) {
+            while (i < length && !Character.isLetterOrDigit(searchTerm.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(searchTerm.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('+').append(searchTerm, start, i).append('*');
+                terms++;
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+}
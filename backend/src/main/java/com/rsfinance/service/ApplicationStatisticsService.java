@@ -0,0 +1,192 @@
+package com.rsfinance.service;
+
+import com.rsfinance.config.Workload;
+import com.rsfinance.config.WorkloadPool;
+import com.rsfinance.dto.DashboardStats;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory dashboard counters. Writes bump sharded LongAdders, so reads never touch
+ * loan_applications. Counters only see writes made through this node and can drift (other nodes,
+ * manual SQL, increments racing a reconcile), so they are rebuilt from the database on a schedule.
+ */
+@WorkloadPool(Workload.ADMIN)
+@Service
+public class ApplicationStatisticsService {
+
+    // Today plus the 30 previous days, enough for the monthly window
+    private static final int DAY_BUCKETS = 31;
+
+    private static final String UNSPECIFIED_LOAN_TYPE = "UNSPECIFIED";
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    private volatile Counters counters = new Counters(LocalDateTime.now());
+
+    // The record methods apply their change once the caller's transaction commits, so a rollback leaves the counters alone
+    public void recordSubmitted(LoanApplication application) {
+        LoanApplication.ApplicationStatus status = application.getStatus();
+        String loanType = application.getLoanType();
+        LocalDate createdOn = application.getCreatedAt().toLocalDate();
+        afterCommit(() -> {
+            Counters current = counters;
+            current.byStatus.get(status).increment();
+            current.loanType(loanType).increment();
+            current.day(createdOn).increment();
+        });
+    }
+
+    public void recordStatusChange(LoanApplication.ApplicationStatus from, LoanApplication.ApplicationStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            Counters current = counters;
+            current.byStatus.get(from).decrement();
+            current.byStatus.get(to).increment();
+        });
+    }
+
+    public void recordDeleted(LoanApplication application) {
+        LoanApplication.ApplicationStatus status = application.getStatus();
+        String loanType = application.getLoanType();
+        LocalDate createdOn = application.getCreatedAt().toLocalDate();
+        afterCommit(() -> {
+            Counters current = counters;
+            current.byStatus.get(status).decrement();
+            current.loanType(loanType).decrement();
+            LongAdder day = current.byDay.get(createdOn);
+            if (day != null) {
+                day.decrement();
+            }
+        });
+    }
+
+    public long countByStatus(LoanApplication.ApplicationStatus status) {
+        return counters.byStatus.get(status).sum();
+    }
+
+    // Applications created today and on the previous (days - 1) calendar days
+    public long countLastDays(int days) {
+        Counters current = counters;
+        LocalDate today = LocalDate.now();
+        long total = 0;
+        for (int i = 0; i < Math.min(days, DAY_BUCKETS); i++) {
+            LongAdder day = current.byDay.get(today.minusDays(i));
+            if (day != null) {
+                total += day.sum();
+            }
+        }
+        return total;
+    }
+
+    public Map<String, Long> countsByLoanType() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.byLoanType.forEach((loanType, count) -> result.put(loanType, count.sum()));
+        return result;
+    }
+
+    public DashboardStats getDashboardStats() {
+        Counters current = counters;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<LoanApplication.ApplicationStatus, LongAdder> entry : current.byStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(entry.getKey().name(), count);
+            total += count;
+        }
+        return new DashboardStats(total, byStatus, countsByLoanType(),
+            countLastDays(1), countLastDays(7), countLastDays(30), current.reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counters fresh = new Counters(LocalDateTime.now());
+        for (Object[] row : loanApplicationRepository.countApplicationsGroupedByStatus()) {
+            if (row[0] != null) {
+                fresh.byStatus.get((LoanApplication.ApplicationStatus) row[0]).add((Long) row[1]);
+            }
+        }
+        for (Object[] row : loanApplicationRepository.countApplicationsByLoanType()) {
+            fresh.loanType((String) row[0]).add((Long) row[1]);
+        }
+        LocalDateTime since = LocalDate.now().minusDays(DAY_BUCKETS - 1).atStartOfDay();
+        for (Object[] row : loanApplicationRepository.countApplicationsPerDaySince(since)) {
+            fresh.day(toLocalDate(row[0])).add(((Number) row[1]).longValue());
+        }
+        counters = fresh;
+    }
+
+    // Kept for callers that still expect the repository's (loanType, count) rows
+    public List<Object[]> countsByLoanTypeRows() {
+        List<Object[]> rows = new ArrayList<>();
+        countsByLoanType().forEach((loanType, count) -> rows.add(new Object[] {loanType, count}));
+        return rows;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static final class Counters {
+        private final Map<LoanApplication.ApplicationStatus, LongAdder> byStatus =
+            new EnumMap<>(LoanApplication.ApplicationStatus.class);
+        private final ConcurrentHashMap<String, LongAdder> byLoanType = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<LocalDate, LongAdder> byDay = new ConcurrentHashMap<>();
+        private final LocalDateTime reconciledAt;
+
+        private Counters(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+            // Pre-filled and never modified afterwards, so the EnumMap is safe to share between threads
+            for (LoanApplication.ApplicationStatus status : LoanApplication.ApplicationStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        private LongAdder loanType(String loanType) {
+            return byLoanType.computeIfAbsent(loanType != null ? loanType : UNSPECIFIED_LOAN_TYPE, key -> new LongAdder());
+        }
+
+        private LongAdder day(LocalDate date) {
+            return byDay.computeIfAbsent(date, key -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.rsfinance.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.rsfinance.dto.ApplicationStatusView;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status views of recently looked-up applications, keyed by application ID. The cache is bounded
+ * by size (W-TinyLFU eviction) and by age. Unknown IDs are cached as empty for a shorter time, so
+ * repeated guesses do not reach the database. Writes and invalidations are applied after commit
+ * and only on this node. On other nodes the TTL bounds how stale an entry can be.
+ */
+@Component
+public class ApplicationStatusCache {
+
+    private static final String NAME = "applicationStatus";
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+
+    private final AsyncCache<String, Optional<ApplicationStatusView>> cache;
+
+    // Bumped by every invalidation so a load that raced with a status change is never kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public ApplicationStatusCache(MeterRegistry meterRegistry,
+                                  @Value("${app.status-cache.maximum-size:100000}") long maximumSize,
+                                  @Value("${app.status-cache.ttl-seconds:300}") long ttlSeconds,
+                                  @Value("${app.status-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new PositiveAndNegativeExpiry(Duration.ofSeconds(ttlSeconds), Duration.ofSeconds(negativeTtlSeconds)))
+            .recordStats()
+            .buildAsync();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, cache.puts, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+            .tag("cache", NAME)
+            .register(meterRegistry);
+    }
+
+    // Concurrent misses for the same ID share one query. The query runs on the calling thread outside
+    // Caffeine's compute, which holds a hash bin monitor and would pin a virtual thread for the whole query.
+    public Optional<ApplicationStatusView> get(String applicationId) {
+        CompletableFuture<Optional<ApplicationStatusView>> cached = cache.getIfPresent(applicationId);
+        if (cached != null) {
+            return join(cached);
+        }
+        CompletableFuture<Optional<ApplicationStatusView>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<ApplicationStatusView>> prior = cache.asMap().putIfAbsent(applicationId, loading);
+        if (prior != null) {
+            return join(prior);
+        }
+        long loadGeneration = generation.get();
+        try {
+            Optional<ApplicationStatusView> view = loanApplicationRepository.findStatusViewByApplicationId(applicationId);
+            if (view.isEmpty() && !replicaUrl.isEmpty()) {
+                // The lookup may have run on a replica that has not applied a submit made through another
+                // node yet; a read-write transaction always runs on the primary
+                view = transactionTemplate.execute(status -> loanApplicationRepository.findStatusViewByApplicationId(applicationId));
+            }
+            if (generation.get() != loadGeneration) {
+                // The row may have been read before an update committed; answer this lookup but do not cache it
+                cache.asMap().remove(applicationId, loading);
+            }
+            loading.complete(view);
+            return view;
+        } catch (RuntimeException e) {
+            // The cache drops failed futures, so the next lookup queries again
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Write-through for new applications; also replaces a cached "unknown" for the same ID
+    public void put(LoanApplication application) {
+        ApplicationStatusView view = ApplicationStatusView.of(application);
+        afterCommit(() -> cache.put(view.getApplicationId(), CompletableFuture.completedFuture(Optional.of(view))));
+    }
+
+    public void invalidate(String applicationId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            cache.synchronous().invalidate(applicationId);
+        });
+    }
+
+    private static Optional<ApplicationStatusView> join(CompletableFuture<Optional<ApplicationStatusView>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class PositiveAndNegativeExpiry implements Expiry<String, Optional<ApplicationStatusView>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private PositiveAndNegativeExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<ApplicationStatusView> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<ApplicationStatusView> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        // Reads do not extend the lifetime, so a busy entry is still refreshed every TTL
+        @Override
+        public long expireAfterRead(String key, Optional<ApplicationStatusView> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
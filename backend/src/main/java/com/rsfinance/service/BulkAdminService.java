@@ -0,0 +1,212 @@
+package com.rsfinance.service;
+
+import com.rsfinance.dto.ApplicationSelection;
+import com.rsfinance.dto.BulkOperationResult;
+import com.rsfinance.dto.BulkStatusUpdate;
+import com.rsfinance.dto.MessageSelection;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.ContactMessageRepository;
+import com.rsfinance.repository.LoanApplicationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bulk admin operations on applications and contact messages, selected by id list or by filter.
+ * The selection is processed in chunks of app.admin.bulk.chunk-size ids, one transaction per chunk,
+ * with one UPDATE or DELETE per chunk instead of a load and save per row. A filter is resolved chunk
+ * by chunk in primary key order inside that transaction. A failing chunk stops the operation; the
+ * chunks before it stay committed.
+ */
+@Service
+public class BulkAdminService {
+
+    // Open ends of a date filter, within the MySQL DATETIME range
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ContactMessageRepository contactMessageRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ApplicationStatisticsService applicationStatisticsService;
+
+    @Autowired
+    private ApplicationStatusCache applicationStatusCache;
+
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.admin.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.admin.bulk.max-ids:10000}")
+    private int maxIds;
+
+    // Applications already in the new status are left alone and get no email
+    public BulkOperationResult updateApplicationStatus(BulkStatusUpdate update, String reviewedBy) {
+        if (update.getNewStatus() == null) {
+            throw new IllegalArgumentException("newStatus is required");
+        }
+        validate(update.getIds(), update.getStatus() != null, update.getStartDate(), update.getEndDate());
+        return run(update.getIds(),
+            afterId -> findApplicationIds(update.getStatus(), update.getStartDate(), update.getEndDate(), afterId),
+            ids -> updateStatusChunk(ids, update, reviewedBy));
+    }
+
+    public BulkOperationResult deleteApplications(ApplicationSelection selection) {
+        validate(selection.getIds(), selection.getStatus() != null, selection.getStartDate(), selection.getEndDate());
+        return run(selection.getIds(),
+            afterId -> findApplicationIds(selection.getStatus(), selection.getStartDate(), selection.getEndDate(), afterId),
+            ids -> deleteChunk(ids, selection.getStatus()));
+    }
+
+    public BulkOperationResult updateMessageReadStatus(MessageSelection selection, boolean isRead) {
+        validate(selection.getIds(), selection.getIsRead() != null, selection.getStartDate(), selection.getEndDate());
+        return run(selection.getIds(),
+            afterId -> findMessageIds(selection, afterId),
+            ids -> contactMessageRepository.updateReadStatusByIdIn(ids, isRead));
+    }
+
+    public BulkOperationResult deleteMessages(MessageSelection selection) {
+        validate(selection.getIds(), selection.getIsRead() != null, selection.getStartDate(), selection.getEndDate());
+        return run(selection.getIds(),
+            afterId -> findMessageIds(selection, afterId),
+            contactMessageRepository::deleteByIdIn);
+    }
+
+    private List<Long> findApplicationIds(LoanApplication.ApplicationStatus status, LocalDateTime startDate,
+                                          LocalDateTime endDate, long afterId) {
+        LocalDateTime from = startDate != null ? startDate : EARLIEST;
+        LocalDateTime to = endDate != null ? endDate : LATEST;
+        if (status == null) {
+            return loanApplicationRepository.findIdsCreatedBetweenAfter(from, to, afterId, PageRequest.of(0, chunkSize));
+        }
+        return loanApplicationRepository.findIdsByStatusCreatedBetweenAfter(status, from, to, afterId, PageRequest.of(0, chunkSize));
+    }
+
+    private List<Long> findMessageIds(MessageSelection selection, long afterId) {
+        return contactMessageRepository.findIdsByFilterAfter(
+            selection.getIsRead(), selection.getStartDate(), selection.getEndDate(), afterId, PageRequest.of(0, chunkSize));
+    }
+
+    private void validate(List<Long> ids, boolean otherFilter, LocalDateTime startDate, LocalDateTime endDate) {
+        boolean filtered = otherFilter || startDate != null || endDate != null;
+        boolean listed = ids != null && !ids.isEmpty();
+        if (listed == filtered) {
+            throw new IllegalArgumentException("Select either by ids or by filter");
+        }
+        if (listed && ids.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per request");
+        }
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate is before startDate");
+        }
+    }
+
+    private BulkOperationResult run(List<Long> ids, LongFunction<List<Long>> filterChunk, ToIntFunction<List<Long>> operation) {
+        long selected = 0;
+        long affected = 0;
+        if (ids != null && !ids.isEmpty()) {
+            List<Long> distinct = ids.stream().distinct().sorted().toList();
+            for (int from = 0; from < distinct.size(); from += chunkSize) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+                affected += transactionTemplate.execute(status -> operation.applyAsInt(chunk));
+            }
+            return new BulkOperationResult(distinct.size(), affected);
+        }
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<Long> chunkIds = filterChunk.apply(after);
+                return new Chunk(chunkIds, chunkIds.isEmpty() ? 0 : operation.applyAsInt(chunkIds));
+            });
+            selected += chunk.ids().size();
+            affected += chunk.affected();
+            if (chunk.ids().size() < chunkSize) {
+                return new BulkOperationResult(selected, affected);
+            }
+            afterId = chunk.ids().get(chunk.ids().size() - 1);
+        }
+    }
+
+    private int updateStatusChunk(List<Long> ids, BulkStatusUpdate update, String reviewedBy) {
+        LoanApplication.ApplicationStatus newStatus = update.getNewStatus();
+        List<LoanApplication> changed = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        for (LoanApplication application : loanApplicationRepository.findAllByIdInForUpdate(ids)) {
+            // Checked again under the lock: another admin may have moved it since the ids were read
+            if (application.getStatus() != newStatus
+                    && (update.getStatus() == null || application.getStatus() == update.getStatus())) {
+                changed.add(application);
+                changedIds.add(application.getId());
+            }
+        }
+        if (changed.isEmpty()) {
+            entityManager.clear();
+            return 0;
+        }
+        LocalDateTime reviewedAt = LocalDateTime.now();
+        int updated = loanApplicationRepository.updateStatusByIdIn(changedIds, newStatus, reviewedBy, update.getComments(), reviewedAt);
+        for (LoanApplication application : changed) {
+            applicationStatisticsService.recordStatusChange(application.getStatus(), newStatus);
+            applicationStatusCache.invalidate(application.getApplicationId());
+            // Read-only entities: these copies only feed the emails and are never flushed
+            application.setStatus(newStatus);
+            application.setReviewedBy(reviewedBy);
+            application.setReviewComments(update.getComments());
+            application.setReviewedAt(reviewedAt);
+        }
+        emailService.sendStatusUpdateNotifications(changed);
+        // Send the outbox inserts now and keep the (request-scoped) persistence context small
+        entityManager.flush();
+        entityManager.clear();
+        return updated;
+    }
+
+    private int deleteChunk(List<Long> ids, LoanApplication.ApplicationStatus status) {
+        List<LoanApplication> deleted = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (LoanApplication application : loanApplicationRepository.findAllByIdInForUpdate(ids)) {
+            if (status == null || application.getStatus() == status) {
+                deleted.add(application);
+                deletedIds.add(application.getId());
+            }
+        }
+        entityManager.clear();
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+        int count = loanApplicationRepository.deleteByIdIn(deletedIds);
+        for (LoanApplication application : deleted) {
+            applicationStatisticsService.recordDeleted(application);
+            applicationStatusCache.invalidate(application.getApplicationId());
+            dailyRollupService.markDirty(application.getCreatedAt().toLocalDate());
+        }
+        return count;
+    }
+
+    private record Chunk(List<Long> ids, int affected) {}
+}
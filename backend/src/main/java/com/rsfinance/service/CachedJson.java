@@ -0,0 +1,33 @@
+package com.rsfinance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+// A response body serialized once, with a strong ETag derived from its bytes
+public final class CachedJson {
+    private final byte[] body;
+    private final String etag;
+    private final long lastModified;
+
+    private CachedJson(byte[] body, long lastModified) {
+        this.body = body;
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        this.lastModified = lastModified;
+    }
+
+    public static CachedJson of(ObjectMapper objectMapper, Object value, long lastModified) {
+        try {
+            return new CachedJson(objectMapper.writeValueAsBytes(value), lastModified);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    // Shared with every response; callers must not modify it
+    public byte[] getBody() { return body; }
+
+    public String getEtag() { return etag; }
+
+    public long getLastModified() { return lastModified; }
+}
@@ -2,14 +2,19 @@ package com.rsfinance.service;
 
 import com.rsfinance.model.ContactMessage;
 import com.rsfinance.repository.ContactMessageRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
+// Every method reads unless it says otherwise: read-only transactions skip Hibernate's flush and entity snapshots
 @Service
+@Observed(name = "app.service")
+@Transactional(readOnly = true)
 public class ContactMessageService {
     
     @Autowired
@@ -18,6 +23,8 @@ public class ContactMessageService {
     @Autowired
     private EmailService emailService;
     
+    // The message and its outbox emails are committed together
+    @Transactional
     public ContactMessage saveContactMessage(ContactMessage contactMessage) {
         ContactMessage savedMessage = contactMessageRepository.save(contactMessage);
         
@@ -50,29 +57,29 @@ public class ContactMessageService {
         return contactMessageRepository.countUnreadMessages();
     }
     
-    public ContactMessage markAsRead(Long id) {
-        return contactMessageRepository.findById(id)
-            .map(message -> {
-                message.setIsRead(true);
-                return contactMessageRepository.save(message);
-            })
-            .orElseThrow(() -> new RuntimeException("Message not found with id: " + id));
+    @Transactional
+    public void markAsRead(Long id) {
+        updateReadStatus(id, true);
     }
     
-    public ContactMessage markAsUnread(Long id) {
-        return contactMessageRepository.findById(id)
-            .map(message -> {
-                message.setIsRead(false);
-                return contactMessageRepository.save(message);
-            })
-            .orElseThrow(() -> new RuntimeException("Message not found with id: " + id));
+    @Transactional
+    public void markAsUnread(Long id) {
+        updateReadStatus(id, false);
     }
     
+    @Transactional
     public void deleteMessage(Long id) {
-        contactMessageRepository.deleteById(id);
+        contactMessageRepository.deleteMessageById(id);
     }
     
     public List<ContactMessage> searchMessagesBySubject(String subject) {
         return contactMessageRepository.findBySubjectContainingIgnoreCase(subject);
     }
+    
+    // A single UPDATE instead of loading the message and flushing it back
+    private void updateReadStatus(Long id, boolean isRead) {
+        if (contactMessageRepository.updateReadStatus(id, isRead) == 0) {
+            throw new RuntimeException("Message not found with id: " + id);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.rsfinance.service;
+
+import com.rsfinance.config.Workload;
+import com.rsfinance.config.WorkloadPool;
+import com.rsfinance.model.RollupCheckpoint;
+import com.rsfinance.repository.DailyApplicationStatRepository;
+import com.rsfinance.repository.RollupCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps daily_application_stats in step with loan_applications. Each run rebuilds only the days
+ * whose applications changed since the last watermark (found through updated_at), plus days with
+ * deletions reported by {@link #markDirty(LocalDate)}. Each run first locks its checkpoint row, so
+ * runs on different nodes never overlap. The unset watermark (the epoch, as seeded by V10) triggers
+ * a full backfill.
+ */
+@WorkloadPool(Workload.REPORT)
+@Service
+public class DailyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupService.class);
+
+    private static final String CHECKPOINT = "daily_application_stats";
+
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private DailyApplicationStatRepository dailyApplicationStatRepository;
+
+    @Autowired
+    private RollupCheckpointRepository rollupCheckpointRepository;
+
+    // Re-scans this far behind the watermark so transactions that committed late are not missed
+    @Value("${app.rollup.watermark-overlap-seconds:300}")
+    private long watermarkOverlapSeconds;
+
+    // Deleted rows leave no trace in updated_at, so their days are remembered until the next run
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+
+    public void markDirty(LocalDate day) {
+        dirtyDays.add(day);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollup.interval-ms:300000}",
+               initialDelayString = "${app.rollup.initial-delay-ms:60000}")
+    @Transactional
+    public void refresh() {
+        // Without Flyway (tests, benchmarks) nothing seeds the row; the insert is locked until commit as well
+        RollupCheckpoint checkpoint = rollupCheckpointRepository.findByNameForUpdate(CHECKPOINT)
+            .orElseGet(() -> rollupCheckpointRepository.saveAndFlush(new RollupCheckpoint(CHECKPOINT, NEVER)));
+        // Taken after the lock, so a run that waited for another node does not reuse that node's window
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        if (checkpoint.getWatermark().equals(NEVER)) {
+            Object firstDay = dailyApplicationStatRepository.findFirstApplicationDay();
+            if (firstDay != null) {
+                backfill(toLocalDate(firstDay), runStartedAt.toLocalDate());
+            }
+            checkpoint.setWatermark(runStartedAt);
+            rollupCheckpointRepository.save(checkpoint);
+            return;
+        }
+
+        Set<LocalDate> days = new TreeSet<>();
+        for (LocalDate day : dirtyDays) {
+            dirtyDays.remove(day);
+            days.add(day);
+        }
+        // Taken out before the commit, so they are put back if the run does not commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    dirtyDays.addAll(days);
+                }
+            }
+        });
+        LocalDateTime since = checkpoint.getWatermark().minusSeconds(watermarkOverlapSeconds);
+        for (Object day : dailyApplicationStatRepository.findDaysTouchedSince(since)) {
+            days.add(toLocalDate(day));
+        }
+        for (LocalDate day : days) {
+            rebuild(day, day);
+        }
+
+        checkpoint.setWatermark(runStartedAt);
+        rollupCheckpointRepository.save(checkpoint);
+        if (!days.isEmpty()) {
+            log.debug("Rebuilt daily application stats for {} day(s)", days.size());
+        }
+    }
+
+    // Rebuilds every day in [startDate, endDate], e.g. after a bulk import or a manual data fix
+    @Transactional
+    public long backfill(LocalDate startDate, LocalDate endDate) {
+        // One month per statement keeps each INSERT ... SELECT short
+        for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusMonths(1)) {
+            LocalDate to = from.plusMonths(1).minusDays(1);
+            rebuild(from, to.isAfter(endDate) ? endDate : to);
+        }
+        log.info("Backfilled daily application stats from {} to {}", startDate, endDate);
+        return ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
+
+    private void rebuild(LocalDate startDate, LocalDate endDate) {
+        LocalDate endExclusive = endDate.plusDays(1);
+        dailyApplicationStatRepository.deleteDays(startDate, endExclusive);
+        dailyApplicationStatRepository.insertDays(startDate.atStartOfDay(), endExclusive.atStartOfDay());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
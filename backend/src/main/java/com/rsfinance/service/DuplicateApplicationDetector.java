@@ -0,0 +1,183 @@
+package com.rsfinance.service;
+
+import com.rsfinance.config.Workload;
+import com.rsfinance.config.WorkloadPool;
+import com.rsfinance.dto.ApplicationListRow;
+import com.rsfinance.model.ApplicantKeys;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flags submissions whose normalized email or phone was seen before. A Bloom filter of every stored
+ * key answers the common "never seen" case in memory; only possible matches run the indexed key
+ * query. The filter is loaded once after startup and then topped up from created_at, so keys written
+ * by other nodes arrive within one refresh interval. Until the first load completes every submission
+ * is checked against the database.
+ */
+@Service
+public class DuplicateApplicationDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateApplicationDetector.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    // Email and phone keys share one filter, so they are told apart by a prefix
+    private static final String EMAIL_PREFIX = "e:";
+    private static final String PHONE_PREFIX = "p:";
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    // Two keys per application; above this the false-positive rate climbs, which costs queries, not correctness
+    @Value("${app.dedup.expected-keys:20000000}")
+    private long expectedKeys;
+
+    @Value("${app.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Re-reads this far behind the last refresh so transactions that committed late are not missed
+    @Value("${app.dedup.refresh-overlap-seconds:300}")
+    private long refreshOverlapSeconds;
+
+    @Value("${app.dedup.max-listed:50}")
+    private int maxListed;
+
+    private final Counter filtered;
+    private final Counter queried;
+    private final Counter flagged;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime refreshedAt;
+
+    public DuplicateApplicationDetector(MeterRegistry meterRegistry) {
+        this.filtered = checkCounter(meterRegistry, "filtered");
+        this.queried = checkCounter(meterRegistry, "queried");
+        this.flagged = Counter.builder("app.dedup.flagged")
+            .description("Submissions flagged as possible duplicates")
+            .register(meterRegistry);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.dedup.checks").tag("result", result).register(meterRegistry);
+    }
+
+    // Application ID of the most recent earlier application with the same email key, else the same phone key
+    public String findPossibleDuplicate(LoanApplication application) {
+        String emailKey = ApplicantKeys.emailKey(application.getEmail());
+        String phoneKey = ApplicantKeys.phoneKey(application.getPhone());
+        BloomFilter current = filter;
+        boolean checkEmail = emailKey != null && (current == null || current.mightContain(EMAIL_PREFIX + emailKey));
+        boolean checkPhone = phoneKey != null && (current == null || current.mightContain(PHONE_PREFIX + phoneKey));
+        if (!checkEmail && !checkPhone) {
+            filtered.increment();
+            return null;
+        }
+        queried.increment();
+        PageRequest first = PageRequest.of(0, 1);
+        List<String> matches = checkEmail ? loanApplicationRepository.findApplicationIdsByEmailKey(emailKey, first) : List.of();
+        if (matches.isEmpty() && checkPhone) {
+            matches = loanApplicationRepository.findApplicationIdsByPhoneKey(phoneKey, first);
+        }
+        if (matches.isEmpty()) {
+            return null;
+        }
+        flagged.increment();
+        return matches.get(0);
+    }
+
+    public void record(LoanApplication application) {
+        BloomFilter current = filter;
+        if (current != null) {
+            put(current, application.getEmailKey(), application.getPhoneKey());
+        }
+    }
+
+    // Other applications sharing the email or phone key of the given one, newest first
+    public List<ApplicationListRow> findDuplicates(LoanApplication application) {
+        PageRequest limit = PageRequest.of(0, maxListed);
+        Map<Long, ApplicationListRow> rows = new LinkedHashMap<>();
+        if (application.getEmailKey() != null) {
+            for (ApplicationListRow row : loanApplicationRepository.findListRowsByEmailKey(application.getEmailKey(), application.getId(), limit)) {
+                rows.put(row.getId(), row);
+            }
+        }
+        if (application.getPhoneKey() != null) {
+            for (ApplicationListRow row : loanApplicationRepository.findListRowsByPhoneKey(application.getPhoneKey(), application.getId(), limit)) {
+                rows.putIfAbsent(row.getId(), row);
+            }
+        }
+        List<ApplicationListRow> duplicates = new ArrayList<>(rows.values());
+        duplicates.sort(Comparator.comparing(ApplicationListRow::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return duplicates.size() > maxListed ? duplicates.subList(0, maxListed) : duplicates;
+    }
+
+    // Runs on the task executor so a large table does not hold up startup; a full scan, so on the report pool
+    @Async
+    @WorkloadPool(Workload.REPORT)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long started = System.nanoTime();
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        BloomFilter loading = new BloomFilter(expectedKeys, falsePositiveRate);
+        long rows = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> page = loanApplicationRepository.findDuplicateKeysAfterId(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                put(loading, (String) row[1], (String) row[2]);
+            }
+            rows += page.size();
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+        refreshedAt = loadStartedAt;
+        filter = loading;
+        // Applications stored while the filter was loading are picked up by the next refresh
+        refresh();
+        log.info("Duplicate filter loaded with {} applications ({} KB) in {} ms", rows,
+            loading.sizeInBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${app.dedup.refresh-interval-ms:60000}",
+               initialDelayString = "${app.dedup.refresh-interval-ms:60000}")
+    public void refresh() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : loanApplicationRepository.findDuplicateKeysCreatedSince(refreshedAt.minusSeconds(refreshOverlapSeconds))) {
+            put(current, (String) row[0], (String) row[1]);
+        }
+        refreshedAt = now;
+    }
+
+    private static void put(BloomFilter filter, String emailKey, String phoneKey) {
+        if (emailKey != null) {
+            filter.put(EMAIL_PREFIX + emailKey);
+        }
+        if (phoneKey != null) {
+            filter.put(PHONE_PREFIX + phoneKey);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.rsfinance.service;
+
+import com.rsfinance.config.Workload;
+import com.rsfinance.config.WorkloadPool;
+import com.rsfinance.model.EmailOutbox;
+import com.rsfinance.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains email_outbox in batches. A short transaction claims each batch: the rows are locked with
+ * SKIP LOCKED and their next_attempt_at is pushed app.mail.outbox.lease-seconds ahead, so no other
+ * node picks them up; startup fails if the lease is shorter than the SMTP timeouts allow a batch to take. The batch is then sent over a single SMTP connection via
+ * {@link JavaMailSender#send(MimeMessage...)} with no transaction or connection held, and a second
+ * short transaction records the outcomes. Rows of a node that dies mid-send become due again when
+ * the lease runs out. Failed rows are retried with exponential backoff and marked DEAD after the
+ * maximum number of attempts.
+ */
+@Service
+@WorkloadPool(Workload.REPORT)
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Allowance per message on top of the socket timeout, for building and streaming it
+    private static final long SEND_MARGIN_MILLIS = 1000;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    // Checked at startup against the longest a batch can take with the SMTP timeouts below
+    @Value("${app.mail.outbox.lease-seconds:1200}")
+    private long leaseSeconds;
+
+    // JavaMail's default of 0 means no timeout
+    @Value("${spring.mail.properties.mail.smtp.connectiontimeout:0}")
+    private long connectionTimeoutMillis;
+
+    @Value("${spring.mail.properties.mail.smtp.timeout:0}")
+    private long readTimeoutMillis;
+
+    @Value("${spring.mail.properties.mail.smtp.writetimeout:0}")
+    private long writeTimeoutMillis;
+
+    @Value("${app.mail.outbox.backoff-initial-seconds:30}")
+    private long backoffInitialSeconds;
+
+    @Value("${app.mail.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.mail.outbox.retention-days:14}")
+    private int retentionDays;
+
+    private Timer sendSucceeded;
+    private Timer sendFailed;
+    private Timer deliveryDelay;
+    private Counter sent;
+    private Counter retried;
+    private Counter dead;
+    private Counter closeFailed;
+
+    @PostConstruct
+    void initialize() {
+        checkLease();
+        registerMeters();
+    }
+
+    /*
+     * JavaMailSenderImpl keeps sending on the same connection after a message fails, so a stalled server
+     * can cost one socket timeout per message. A lease shorter than that would expire mid-send and let
+     * another node claim and send the same rows again.
+     */
+    private void checkLease() {
+        if (connectionTimeoutMillis <= 0 || readTimeoutMillis <= 0 || writeTimeoutMillis <= 0) {
+            throw new IllegalStateException("The outbox lease needs bounded SMTP sends: set "
+                + "spring.mail.properties.mail.smtp.connectiontimeout, .timeout and .writetimeout");
+        }
+        long perMessageMillis = Math.max(readTimeoutMillis, writeTimeoutMillis) + SEND_MARGIN_MILLIS;
+        long worstBatchMillis = connectionTimeoutMillis + batchSize * perMessageMillis;
+        if (leaseSeconds * 1000 < worstBatchMillis) {
+            throw new IllegalStateException("app.mail.outbox.lease-seconds=" + leaseSeconds + " is shorter than a batch of "
+                + batchSize + " can take with the SMTP timeouts; use at least " + (worstBatchMillis + 999) / 1000);
+        }
+    }
+
+    private void registerMeters() {
+        // One sample per SMTP batch (connect, send all, close)
+        sendSucceeded = sendTimer("success");
+        sendFailed = sendTimer("failure");
+        deliveryDelay = Timer.builder("app.email.delivery.delay")
+            .description("Time from enqueue to successful send")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        sent = outcomeCounter("sent");
+        retried = outcomeCounter("retry");
+        dead = outcomeCounter("dead");
+        closeFailed = Counter.builder("app.email.send.close.failed")
+            .description("SMTP batches delivered but whose connection failed to close")
+            .register(meterRegistry);
+    }
+
+    private Timer sendTimer(String outcome) {
+        return Timer.builder("app.email.send")
+            .tag("outcome", outcome)
+            .description("SMTP send of one outbox batch")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("app.email.outbox.processed").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        // Keep going while batches come back full so a backlog drains without waiting for the next poll
+        List<EmailOutbox> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimDueBatch());
+            if (!batch.isEmpty()) {
+                send(batch);
+                recordOutcomes(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status ->
+            emailOutboxRepository.deleteByStatusAndSentAtBefore(EmailOutbox.Status.SENT, before));
+        log.info("Purged {} sent outbox email(s) older than {} days", deleted, retentionDays);
+    }
+
+    // The lease is written on commit; the returned rows are detached copies
+    private List<EmailOutbox> claimDueBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.lockDueBatch(now, batchSize);
+        for (EmailOutbox email : batch) {
+            email.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+        }
+        return batch;
+    }
+
+    // Sends the claimed batch and sets each row's outcome on the detached copies
+    private void send(List<EmailOutbox> batch) {
+        List<EmailOutbox> sendable = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox email : batch) {
+            try {
+                messages.add(toMimeMessage(email));
+                sendable.add(email);
+            } catch (MessagingException e) {
+                // A malformed address will never succeed; do not spend retries on it
+                markDead(email, e);
+            }
+        }
+
+        Map<Object, Exception> failures = Collections.emptyMap();
+        Exception batchFailure = null;
+        if (!messages.isEmpty()) {
+            long started = System.nanoTime();
+            try {
+                mailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // JavaMailSenderImpl lists every undelivered message; with none listed, only closing the
+                // connection failed after all of them went out
+                failures = e.getFailedMessages();
+                if (failures.isEmpty()) {
+                    closeFailed.increment();
+                    log.warn("Outbox batch of {} email(s) sent, but the SMTP connection did not close: {}",
+                        messages.size(), e.getMessage());
+                }
+            } catch (MailException e) {
+                // Connection or authentication problem: nothing in the batch went out
+                batchFailure = e;
+            }
+            Timer timer = batchFailure == null && failures.isEmpty() ? sendSucceeded : sendFailed;
+            timer.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < sendable.size(); i++) {
+            EmailOutbox email = sendable.get(i);
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages.get(i));
+            if (failure == null) {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent.increment();
+                if (email.getCreatedAt() != null) {
+                    deliveryDelay.record(Duration.between(email.getCreatedAt(), now));
+                }
+            } else {
+                markFailed(email, failure, now);
+            }
+        }
+    }
+
+    private void recordOutcomes(List<EmailOutbox> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Loads the rows in one query, so saveAll merges the outcomes without a select per row
+            emailOutboxRepository.findAllById(batch.stream().map(EmailOutbox::getId).toList());
+            emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean html = email.getHtmlBody() != null;
+        // multipart/alternative with a text part for clients that do not render HTML
+        MimeMessageHelper helper = new MimeMessageHelper(message, html, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        if (html) {
+            helper.setText(email.getBody(), email.getHtmlBody());
+        } else {
+            helper.setText(email.getBody());
+        }
+        return message;
+    }
+
+    private void markFailed(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutbox.Status.DEAD);
+            dead.increment();
+            log.error("Giving up on outbox email {} to {} after {} attempts: {}",
+                email.getIdempotencyKey(), email.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+        long delay = Math.min(backoffMaxSeconds, backoffInitialSeconds << Math.min(attempts - 1, 20));
+        email.setNextAttemptAt(now.plusSeconds(delay));
+        retried.increment();
+        log.warn("Outbox email {} failed (attempt {}), retrying in {}s: {}",
+            email.getIdempotencyKey(), attempts, delay, failure.getMessage());
+    }
+
+    private void markDead(EmailOutbox email, Exception failure) {
+        email.setAttempts(email.getAttempts() + 1);
+        email.setStatus(EmailOutbox.Status.DEAD);
+        email.setLastError(truncate(failure.getMessage()));
+        dead.increment();
+        log.error("Outbox email {} cannot be built: {}", email.getIdempotencyKey(), failure.getMessage());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,47 @@
+package com.rsfinance.service;
+
+import com.rsfinance.model.EmailOutbox;
+import com.rsfinance.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class EmailOutboxService {
+    
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    
+    // Joins the caller's transaction, so the mail is stored if and only if the business write commits
+    @Transactional
+    public void enqueue(EmailOutbox email) {
+        if (emailOutboxRepository.existsByIdempotencyKey(email.getIdempotencyKey())) {
+            return;
+        }
+        emailOutboxRepository.save(email);
+    }
+    
+    // Bulk variant: one lookup for already queued keys, then batched inserts
+    @Transactional
+    public void enqueueAll(List<EmailOutbox> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        Set<String> keys = new HashSet<>();
+        for (EmailOutbox email : emails) {
+            keys.add(email.getIdempotencyKey());
+        }
+        Set<String> seen = new HashSet<>(emailOutboxRepository.findExistingIdempotencyKeys(keys));
+        List<EmailOutbox> pending = new ArrayList<>(emails.size());
+        for (EmailOutbox email : emails) {
+            if (seen.add(email.getIdempotencyKey())) {
+                pending.add(email);
+            }
+        }
+        emailOutboxRepository.saveAll(pending);
+    }
+}
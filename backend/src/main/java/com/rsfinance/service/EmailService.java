@@ -2,195 +2,180 @@ package com.rsfinance.service;
 
 import com.rsfinance.model.LoanApplication;
 import com.rsfinance.model.ContactMessage;
+import com.rsfinance.model.EmailOutbox;
+import com.rsfinance.model.OrganizationInfo;
+import com.rsfinance.service.template.EmailTemplateEngine;
+import com.rsfinance.service.template.RenderedEmail;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+// Renders notification mails from templates/email and stores them in the outbox; EmailOutboxDispatcher delivers them
 @Service
+@Observed(name = "app.service")
 public class EmailService {
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
     
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Autowired
+    private EmailTemplateEngine emailTemplateEngine;
+    
+    @Autowired
+    private OrganizationInfoService organizationInfoService;
     
     @Value("${app.admin.email:admin@rsfinanceservice.com}")
     private String adminEmail;
     
-    @Async
     public void sendApplicationConfirmation(LoanApplication application) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(application.getEmail());
-            message.setSubject("Loan Application Received - " + application.getApplicationId());
-            
-            String emailBody = String.format(
-                "Dear %s %s,\n\n" +
-                "Thank you for applying for a loan with RS Finance Service.\n\n" +
-                "Your application details:\n" +
-                "Application ID: %s\n" +
-                "Loan Type: %s\n" +
-                "Loan Amount: ₹%,d\n" +
-                "Status: %s\n\n" +
-                "We will review your application and contact you within 24-48 hours.\n\n" +
-                "For any queries, please contact us at:\n" +
-                "Phone: 8391808557\n" +
-                "Email: info@rsfinanceservice.com\n\n" +
-                "Best regards,\n" +
-                "RS Finance Service Team",
-                application.getFirstName(),
-                application.getLastName(),
-                application.getApplicationId(),
-                application.getLoanType(),
-                application.getLoanAmount(),
-                application.getStatus()
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-        } catch (Exception e) {
-            // Log error but don't throw exception to avoid breaking the application flow
-            System.err.println("Failed to send confirmation email: " + e.getMessage());
-        }
+        emailOutboxService.enqueue(applicationConfirmation(application));
     }
     
-    @Async
     public void sendNewApplicationNotification(LoanApplication application) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(adminEmail);
-            message.setSubject("New Loan Application - " + application.getApplicationId());
-            
-            String emailBody = String.format(
-                "A new loan application has been submitted.\n\n" +
-                "Application Details:\n" +
-                "Application ID: %s\n" +
-                "Applicant: %s %s\n" +
-                "Email: %s\n" +
-                "Phone: %s\n" +
-                "Loan Type: %s\n" +
-                "Loan Amount: ₹%,d\n" +
-                "Monthly Income: ₹%,d\n" +
-                "Employment Type: %s\n\n" +
-                "Please review the application in the admin dashboard.\n\n" +
-                "RS Finance Service System",
-                application.getApplicationId(),
-                application.getFirstName(),
-                application.getLastName(),
-                application.getEmail(),
-                application.getPhone(),
-                application.getLoanType(),
-                application.getLoanAmount(),
-                application.getMonthlyIncome(),
-                application.getEmploymentType()
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send admin notification email: " + e.getMessage());
-        }
+        emailOutboxService.enqueue(newApplicationNotification(application));
     }
     
-    @Async
     public void sendStatusUpdateNotification(LoanApplication application) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(application.getEmail());
-            message.setSubject("Loan Application Status Update - " + application.getApplicationId());
-            
-            String statusMessage = getStatusMessage(application.getStatus());
-            
-            String emailBody = String.format(
-                "Dear %s %s,\n\n" +
-                "Your loan application status has been updated.\n\n" +
-                "Application ID: %s\n" +
-                "New Status: %s\n\n" +
-                "%s\n\n" +
-                "%s\n\n" +
-                "For any queries, please contact us at:\n" +
-                "Phone: 8391808557\n" +
-                "Email: info@rsfinanceservice.com\n\n" +
-                "Best regards,\n" +
-                "RS Finance Service Team",
-                application.getFirstName(),
-                application.getLastName(),
-                application.getApplicationId(),
-                application.getStatus(),
-                statusMessage,
-                application.getReviewComments() != null ? "Comments: " + application.getReviewComments() : ""
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send status update email: " + e.getMessage());
-        }
+        emailOutboxService.enqueue(statusUpdateNotification(application));
     }
     
-    @Async
     public void sendContactMessageConfirmation(ContactMessage contactMessage) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(contactMessage.getEmail());
-            message.setSubject("Message Received - RS Finance Service");
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Thank you for contacting RS Finance Service.\n\n" +
-                "We have received your message regarding: %s\n\n" +
-                "Our team will review your message and get back to you within 24 hours.\n\n" +
-                "For urgent matters, please call us at: 8391808557\n\n" +
-                "Best regards,\n" +
-                "RS Finance Service Team",
-                contactMessage.getName(),
-                contactMessage.getSubject()
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send contact confirmation email: " + e.getMessage());
-        }
+        emailOutboxService.enqueue(contactMessageConfirmation(contactMessage));
     }
     
-    @Async
     public void sendContactMessageNotification(ContactMessage contactMessage) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(adminEmail);
-            message.setSubject("New Contact Message - " + contactMessage.getSubject());
-            
-            String emailBody = String.format(
-                "A new contact message has been received.\n\n" +
-                "From: %s\n" +
-                "Email: %s\n" +
-                "Phone: %s\n" +
-                "Subject: %s\n\n" +
-                "Message:\n%s\n\n" +
-                "Please respond to the customer.\n\n" +
-                "RS Finance Service System",
-                contactMessage.getName(),
-                contactMessage.getEmail(),
-                contactMessage.getPhone() != null ? contactMessage.getPhone() : "Not provided",
-                contactMessage.getSubject(),
-                contactMessage.getMessage()
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-        } catch (Exception e) {
-            System.err.println("Failed to send contact notification email: " + e.getMessage());
+        emailOutboxService.enqueue(contactMessageNotification(contactMessage));
+    }
+    
+    // Confirmation and admin notification for every application of a bulk intake, enqueued in one go
+    public void sendApplicationEmails(List<LoanApplication> applications) {
+        List<EmailOutbox> emails = new ArrayList<>(applications.size() * 2);
+        for (LoanApplication application : applications) {
+            emails.add(applicationConfirmation(application));
+            emails.add(newApplicationNotification(application));
+        }
+        emailOutboxService.enqueueAll(emails);
+    }
+    
+    // Status update for every application of a bulk status change, enqueued in one go
+    public void sendStatusUpdateNotifications(List<LoanApplication> applications) {
+        List<EmailOutbox> emails = new ArrayList<>(applications.size());
+        for (LoanApplication application : applications) {
+            emails.add(statusUpdateNotification(application));
+        }
+        emailOutboxService.enqueueAll(emails);
+    }
+    
+    private EmailOutbox applicationConfirmation(LoanApplication application) {
+        String subject = "Loan Application Received - " + application.getApplicationId();
+        
+        Map<String, String> model = organizationModel();
+        putApplication(model, application);
+        
+        String idempotencyKey = "application-confirmation:" + application.getApplicationId();
+        return outboxEmail(idempotencyKey, application.getEmail(), subject,
+            emailTemplateEngine.render("application-confirmation", model));
+    }
+    
+    private EmailOutbox newApplicationNotification(LoanApplication application) {
+        String subject = "New Loan Application - " + application.getApplicationId();
+        
+        Map<String, String> model = organizationModel();
+        putApplication(model, application);
+        model.put("email", application.getEmail());
+        model.put("phone", application.getPhone());
+        model.put("monthlyIncome", formatAmount(application.getMonthlyIncome()));
+        model.put("employmentType", application.getEmploymentType());
+        
+        String idempotencyKey = "application-notification:" + application.getApplicationId();
+        return outboxEmail(idempotencyKey, adminEmail, subject,
+            emailTemplateEngine.render("application-notification", model));
+    }
+    
+    private EmailOutbox statusUpdateNotification(LoanApplication application) {
+        String subject = "Loan Application Status Update - " + application.getApplicationId();
+        
+        Map<String, String> model = organizationModel();
+        putApplication(model, application);
+        model.put("statusMessage", getStatusMessage(application.getStatus()));
+        model.put("comments", application.getReviewComments() != null ? "Comments: " + application.getReviewComments() : "");
+        
+        String idempotencyKey = "status-update:" + application.getApplicationId() + ":"
+            + application.getStatus() + ":" + application.getReviewedAt();
+        return outboxEmail(idempotencyKey, application.getEmail(), subject,
+            emailTemplateEngine.render("status-update", model));
+    }
+    
+    private EmailOutbox contactMessageConfirmation(ContactMessage contactMessage) {
+        Map<String, String> model = organizationModel();
+        model.put("name", contactMessage.getName());
+        model.put("subject", contactMessage.getSubject());
+        
+        String subject = "Message Received - " + model.get("organizationName");
+        String idempotencyKey = "contact-confirmation:" + contactMessage.getId();
+        return outboxEmail(idempotencyKey, contactMessage.getEmail(), subject,
+            emailTemplateEngine.render("contact-confirmation", model));
+    }
+    
+    private EmailOutbox contactMessageNotification(ContactMessage contactMessage) {
+        String subject = "New Contact Message - " + contactMessage.getSubject();
+        
+        Map<String, String> model = organizationModel();
+        model.put("name", contactMessage.getName());
+        model.put("email", contactMessage.getEmail());
+        model.put("phone", contactMessage.getPhone() != null ? contactMessage.getPhone() : "Not provided");
+        model.put("subject", contactMessage.getSubject());
+        model.put("message", contactMessage.getMessage());
+        
+        String idempotencyKey = "contact-notification:" + contactMessage.getId();
+        return outboxEmail(idempotencyKey, adminEmail, subject,
+            emailTemplateEngine.render("contact-notification", model));
+    }
+    
+    private static EmailOutbox outboxEmail(String idempotencyKey, String recipient, String subject, RenderedEmail email) {
+        return new EmailOutbox(idempotencyKey, recipient, subject, email.getText(), email.getHtml());
+    }
+    
+    // Organization details come from the in-memory snapshot, so rendering never touches the database
+    private Map<String, String> organizationModel() {
+        OrganizationInfo info = organizationInfoService.getOrganizationInfo();
+        Map<String, String> model = new HashMap<>(32);
+        model.put("organizationName", info.getName());
+        model.put("organizationPhone", info.getPhone());
+        model.put("organizationEmail", info.getEmail());
+        return model;
+    }
+    
+    private void putApplication(Map<String, String> model, LoanApplication application) {
+        model.put("applicationId", application.getApplicationId());
+        model.put("firstName", application.getFirstName());
+        model.put("lastName", application.getLastName());
+        model.put("loanType", application.getLoanType());
+        model.put("loanAmount", formatAmount(application.getLoanAmount()));
+        model.put("status", String.valueOf(application.getStatus()));
+    }
+    
+    // Same output as "%,d" for an English locale, without going through Formatter
+    public static String formatAmount(Long amount) {
+        if (amount == null) {
+            return "";
+        }
+        String digits = Long.toString(Math.abs(amount));
+        StringBuilder out = new StringBuilder(digits.length() + digits.length() / 3 + 1);
+        if (amount < 0) {
+            out.append('-');
+        }
+        int firstGroup = digits.length() % 3 == 0 ? 3 : digits.length() % 3;
+        out.append(digits, 0, firstGroup);
+        for (int i = firstGroup; i < digits.length(); i += 3) {
+            out.append(',').append(digits, i, i + 3);
         }
+        return out.toString();
     }
     
     private String getStatusMessage(LoanApplication.ApplicationStatus status) {
@@ -205,4 +190,4 @@ public class EmailService {
                 return "Your application status has been updated.";
         }
     }
-}
\ No newline at end of file
+}
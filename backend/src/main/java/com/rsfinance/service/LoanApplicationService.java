@@ -1,26 +1,56 @@
 package com.rsfinance.service;
 
+import com.rsfinance.dto.ApplicationListRow;
+import com.rsfinance.dto.ApplicationStatusView;
+import com.rsfinance.dto.CursorPage;
 import com.rsfinance.model.LoanApplication;
 import com.rsfinance.repository.LoanApplicationRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Observed(name = "app.service")
 public class LoanApplicationService {
     
     @Autowired
     private LoanApplicationRepository loanApplicationRepository;
     
+    @Autowired
+    private ApplicationIdGenerator applicationIdGenerator;
+    
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private ApplicationStatisticsService applicationStatisticsService;
+    
+    @Autowired
+    private ApplicationStatusCache applicationStatusCache;
+    
+    @Autowired
+    private DailyRollupService dailyRollupService;
+    
+    @Autowired
+    private DuplicateApplicationDetector duplicateApplicationDetector;
+    
+    // The application and its outbox emails are committed together
+    @Transactional
     public LoanApplication submitApplication(LoanApplication application) {
+        application.setApplicationId(applicationIdGenerator.nextId());
+        application.setPossibleDuplicateOf(duplicateApplicationDetector.findPossibleDuplicate(application));
         LoanApplication savedApplication = loanApplicationRepository.save(application);
+        duplicateApplicationDetector.record(savedApplication);
         
         // Send confirmation email to applicant
         emailService.sendApplicationConfirmation(savedApplication);
@@ -28,38 +58,109 @@ public class LoanApplicationService {
         // Send notification email to admin
         emailService.sendNewApplicationNotification(savedApplication);
         
+        applicationStatisticsService.recordSubmitted(savedApplication);
+        applicationStatusCache.put(savedApplication);
         return savedApplication;
     }
     
+    @Transactional(readOnly = true)
     public Page<LoanApplication> getAllApplications(Pageable pageable) {
         return loanApplicationRepository.findAll(pageable);
     }
     
+    @Transactional(readOnly = true)
     public Page<LoanApplication> getApplicationsByStatus(LoanApplication.ApplicationStatus status, Pageable pageable) {
         return loanApplicationRepository.findByStatus(status, pageable);
     }
     
+    @Transactional(readOnly = true)
     public Page<LoanApplication> searchApplications(LoanApplication.ApplicationStatus status, String searchTerm, Pageable pageable) {
-        return loanApplicationRepository.findByStatusAndSearchTerm(status, searchTerm, pageable);
+        String query = ApplicationSearchQuery.toBooleanMode(searchTerm);
+        if (query == null) {
+            return status != null
+                ? loanApplicationRepository.findByStatus(status, pageable)
+                : loanApplicationRepository.findAll(pageable);
+        }
+        // Results are ranked by relevance, so any requested sort is dropped
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return status != null
+            ? loanApplicationRepository.searchByFullTextAndStatus(status.name(), query, unsorted)
+            : loanApplicationRepository.searchByFullText(query, unsorted);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<ApplicationListRow> scrollApplications(LoanApplication.ApplicationStatus status, String searchTerm, String cursor, int size) {
+        // Fetch one extra row to know whether another page exists without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        ApplicationCursor position = cursor == null || cursor.isBlank() ? null : ApplicationCursor.decode(cursor);
+        String query = ApplicationSearchQuery.toBooleanMode(searchTerm);
+        List<ApplicationListRow> rows;
+        boolean hasNext;
+        if (query == null) {
+            rows = findListRowPage(status, position, limit);
+            hasNext = rows.size() > size;
+        } else {
+            List<Long> ids = searchKeysetIds(status, query, position, limit);
+            // Rows deleted between the two queries are missing from rows but were still matched,
+            // so whether there is more comes from the ids
+            rows = listRowsInOrder(ids);
+            hasNext = ids.size() > size;
+        }
+        
+        List<ApplicationListRow> content = rows.size() > size ? rows.subList(0, size) : rows;
+        if (!hasNext) {
+            return new CursorPage<>(content, null);
+        }
+        if (content.isEmpty()) {
+            // Every matched row was deleted meanwhile; the next request searches again from the same place
+            return new CursorPage<>(content, position != null ? position.encode() : null);
+        }
+        // The last row that still exists, so the next page neither skips nor repeats a row
+        ApplicationListRow last = content.get(content.size() - 1);
+        return new CursorPage<>(content, new ApplicationCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<LoanApplication> getApplicationById(Long id) {
         return loanApplicationRepository.findById(id);
     }
     
+    // Other applications with the same normalized email or phone; empty when the application does not exist
+    @Transactional(readOnly = true)
+    public Optional<List<ApplicationListRow>> getPossibleDuplicates(Long id) {
+        return loanApplicationRepository.findById(id).map(duplicateApplicationDetector::findDuplicates);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<LoanApplication> getApplicationByApplicationId(String applicationId) {
+        // Mistyped IDs fail the check character and never reach the database
+        if (!applicationIdGenerator.isPlausible(applicationId)) {
+            return Optional.empty();
+        }
         return loanApplicationRepository.findByApplicationId(applicationId);
     }
     
+    // Public status lookup: six columns instead of the whole row, cached per ID (including misses)
+    public Optional<ApplicationStatusView> getApplicationStatusView(String applicationId) {
+        if (!applicationIdGenerator.isPlausible(applicationId)) {
+            return Optional.empty();
+        }
+        return applicationStatusCache.get(applicationId);
+    }
+    
+    @Transactional
     public LoanApplication updateApplicationStatus(Long id, LoanApplication.ApplicationStatus status, String reviewedBy, String comments) {
         return loanApplicationRepository.findById(id)
             .map(application -> {
+                LoanApplication.ApplicationStatus previousStatus = application.getStatus();
                 application.setStatus(status);
                 application.setReviewedBy(reviewedBy);
                 application.setReviewComments(comments);
                 application.setReviewedAt(LocalDateTime.now());
                 
                 LoanApplication updatedApplication = loanApplicationRepository.save(application);
+                applicationStatisticsService.recordStatusChange(previousStatus, status);
+                applicationStatusCache.invalidate(updatedApplication.getApplicationId());
                 
                 // Send status update email to applicant
                 emailService.sendStatusUpdateNotification(updatedApplication);
@@ -69,34 +170,83 @@ public class LoanApplicationService {
             .orElseThrow(() -> new RuntimeException("Application not found with id: " + id));
     }
     
+    // Dashboard counts are served from in-memory counters instead of COUNT queries
     public long getApplicationCountByStatus(LoanApplication.ApplicationStatus status) {
-        return loanApplicationRepository.countByStatus(status);
+        return applicationStatisticsService.countByStatus(status);
     }
     
     public long getTodayApplicationsCount() {
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        return loanApplicationRepository.countApplicationsAfterDate(startOfDay);
+        return applicationStatisticsService.countLastDays(1);
     }
     
     public long getThisWeekApplicationsCount() {
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-        return loanApplicationRepository.countApplicationsAfterDate(startOfWeek);
+        return applicationStatisticsService.countLastDays(7);
     }
     
     public long getThisMonthApplicationsCount() {
-        LocalDateTime startOfMonth = LocalDateTime.now().minusDays(30);
-        return loanApplicationRepository.countApplicationsAfterDate(startOfMonth);
+        return applicationStatisticsService.countLastDays(30);
     }
     
     public List<Object[]> getApplicationCountsByLoanType() {
-        return loanApplicationRepository.countApplicationsByLoanType();
+        return applicationStatisticsService.countsByLoanTypeRows();
     }
     
+    @Transactional(readOnly = true)
     public List<LoanApplication> getApplicationsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return loanApplicationRepository.findApplicationsBetweenDates(startDate, endDate);
     }
     
+    @Transactional
     public void deleteApplication(Long id) {
-        loanApplicationRepository.deleteById(id);
+        loanApplicationRepository.findById(id)
+            .ifPresent(application -> {
+                loanApplicationRepository.delete(application);
+                applicationStatisticsService.recordDeleted(application);
+                applicationStatusCache.invalidate(application.getApplicationId());
+                dailyRollupService.markDirty(application.getCreatedAt().toLocalDate());
+            });
+    }
+    
+    // IN (...) returns rows in any order; put them back in the order of the ids
+    private List<ApplicationListRow> listRowsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ApplicationListRow> byId = new HashMap<>();
+        for (ApplicationListRow row : loanApplicationRepository.findListRowsByIdIn(ids)) {
+            byId.put(row.getId(), row);
+        }
+        List<ApplicationListRow> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ApplicationListRow row = byId.get(id);
+            // Deleted between the two queries
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+    
+    private List<ApplicationListRow> findListRowPage(LoanApplication.ApplicationStatus status, ApplicationCursor position, Pageable limit) {
+        if (position == null) {
+            return status != null
+                ? loanApplicationRepository.findFirstListRowPageByStatus(status, limit)
+                : loanApplicationRepository.findFirstListRowPage(limit);
+        }
+        return status != null
+            ? loanApplicationRepository.findListRowPageByStatusAfter(status, position.getCreatedAt(), position.getId(), limit)
+            : loanApplicationRepository.findListRowPageAfter(position.getCreatedAt(), position.getId(), limit);
+    }
+    
+    private List<Long> searchKeysetIds(LoanApplication.ApplicationStatus status, String query, ApplicationCursor position, Pageable limit) {
+        if (position == null) {
+            return status != null
+                ? loanApplicationRepository.searchFirstKeysetIdsByStatus(status.name(), query, limit)
+                : loanApplicationRepository.searchFirstKeysetIds(query, limit);
+        }
+        return status != null
+            ? loanApplicationRepository.searchKeysetIdsByStatusAfter(
+                status.name(), query, position.getCreatedAt(), position.getId(), limit)
+            : loanApplicationRepository.searchKeysetIdsAfter(query, position.getCreatedAt(), position.getId(), limit);
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.rsfinance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rsfinance.model.LoanType;
+import com.rsfinance.repository.LoanTypeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copy-on-write snapshot of the loan type catalogue. Reads are a volatile load; the snapshot is
+ * rebuilt from the database on the first read after {@link #invalidate()} or once it is older than
+ * app.loan-type-cache.ttl-seconds. Invalidation is local to this node, so writes made through another
+ * node or directly in the database are served at most that long after they commit.
+ */
+@Component
+public class LoanTypeCache {
+
+    @Autowired
+    private LoanTypeRepository loanTypeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.loan-type-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    // Bumped by every invalidation so a load that raced with a write is never installed
+    private final AtomicLong generation = new AtomicLong();
+
+    // A lock rather than synchronized: the load runs a query, and a virtual thread blocked inside a monitor pins its carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public LoanTypeCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("cache.gets").tag("cache", "loanTypes").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "loanTypes").tag("result", "miss").register(meterRegistry);
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return load();
+    }
+
+    // Drops the snapshot once the surrounding transaction (if any) has committed
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot load() {
+        loadLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long loadGeneration = generation.get();
+            Snapshot loaded = new Snapshot(loanTypeRepository.findAll(Sort.by("name")));
+            if (generation.get() == loadGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && System.nanoTime() - current.loadedAt < TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public final class Snapshot {
+        private final List<LoanType> activeLoanTypes;
+        private final Map<Long, LoanType> loanTypesById;
+        private final CachedJson activeLoanTypesJson;
+        private final long loadedAt = System.nanoTime();
+
+        private Snapshot(List<LoanType> loanTypes) {
+            Map<Long, LoanType> byId = new LinkedHashMap<>();
+            long lastModified = 0;
+            for (LoanType loanType : loanTypes) {
+                byId.put(loanType.getId(), loanType);
+                lastModified = Math.max(lastModified, toEpochMilli(loanType.getUpdatedAt()));
+            }
+            this.loanTypesById = Map.copyOf(byId);
+            this.activeLoanTypes = loanTypes.stream()
+                .filter(loanType -> Boolean.TRUE.equals(loanType.getIsActive()))
+                .toList();
+            this.activeLoanTypesJson = CachedJson.of(objectMapper, activeLoanTypes, lastModified);
+        }
+
+        // Sorted by name, unmodifiable
+        public List<LoanType> getActiveLoanTypes() { return activeLoanTypes; }
+
+        public LoanType getLoanType(Long id) { return loanTypesById.get(Objects.requireNonNull(id)); }
+
+        public CachedJson getActiveLoanTypesJson() { return activeLoanTypesJson; }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+}
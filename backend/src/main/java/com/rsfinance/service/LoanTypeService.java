@@ -4,6 +4,8 @@ import com.rsfinance.model.LoanType;
 import com.rsfinance.repository.LoanTypeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,26 +15,40 @@ public class LoanTypeService {
     @Autowired
     private LoanTypeRepository loanTypeRepository;
     
+    @Autowired
+    private LoanTypeCache loanTypeCache;
+    
+    @Transactional(readOnly = true)
     public List<LoanType> getAllLoanTypes() {
         return loanTypeRepository.findAll();
     }
     
     public List<LoanType> getActiveLoanTypes() {
-        return loanTypeRepository.findActiveLoanTypesOrderByName();
+        return loanTypeCache.get().getActiveLoanTypes();
+    }
+    
+    // Pre-serialized body of getActiveLoanTypes() for the public endpoint
+    public CachedJson getActiveLoanTypesJson() {
+        return loanTypeCache.get().getActiveLoanTypesJson();
     }
     
     public Optional<LoanType> getLoanTypeById(Long id) {
-        return loanTypeRepository.findById(id);
+        return Optional.ofNullable(loanTypeCache.get().getLoanType(id));
     }
     
+    @Transactional(readOnly = true)
     public Optional<LoanType> getLoanTypeByName(String name) {
         return loanTypeRepository.findByNameIgnoreCase(name);
     }
     
+    @Transactional
     public LoanType saveLoanType(LoanType loanType) {
-        return loanTypeRepository.save(loanType);
+        LoanType savedLoanType = loanTypeRepository.save(loanType);
+        loanTypeCache.invalidate();
+        return savedLoanType;
     }
     
+    @Transactional
     public LoanType updateLoanType(Long id, LoanType loanTypeDetails) {
         return loanTypeRepository.findById(id)
             .map(loanType -> {
@@ -44,23 +60,28 @@ public class LoanTypeService {
                 loanType.setMaxTenure(loanTypeDetails.getMaxTenure());
                 loanType.setProcessingFee(loanTypeDetails.getProcessingFee());
                 loanType.setIsActive(loanTypeDetails.getIsActive());
-                return loanTypeRepository.save(loanType);
+                LoanType updatedLoanType = loanTypeRepository.save(loanType);
+                loanTypeCache.invalidate();
+                return updatedLoanType;
             })
             .orElseThrow(() -> new RuntimeException("Loan type not found with id: " + id));
     }
     
+    @Transactional
     public void deleteLoanType(Long id) {
         loanTypeRepository.deleteById(id);
+        loanTypeCache.invalidate();
     }
     
+    // A single UPDATE instead of loading the loan type and flushing it back
+    @Transactional
     public void toggleLoanTypeStatus(Long id) {
-        loanTypeRepository.findById(id)
-            .ifPresent(loanType -> {
-                loanType.setIsActive(!loanType.getIsActive());
-                loanTypeRepository.save(loanType);
-            });
+        if (loanTypeRepository.toggleActive(id, LocalDateTime.now()) > 0) {
+            loanTypeCache.invalidate();
+        }
     }
     
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         return loanTypeRepository.existsByNameIgnoreCase(name);
     }
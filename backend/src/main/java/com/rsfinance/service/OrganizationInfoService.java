@@ -1,9 +1,16 @@
 package com.rsfinance.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rsfinance.model.OrganizationInfo;
 import com.rsfinance.repository.OrganizationInfoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class OrganizationInfoService {
@@ -11,18 +18,73 @@ public class OrganizationInfoService {
     @Autowired
     private OrganizationInfoRepository organizationInfoRepository;
     
-    public OrganizationInfo getOrganizationInfo() {
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // The singleton row, kept in memory together with its encoded JSON; replaced by updateOrganizationInfo and refresh
+    private volatile Snapshot snapshot;
+    
+    // Bumped by every local update so a refresh that read the row before it is not installed over it
+    private final AtomicLong generation = new AtomicLong();
+    
+    // Seeds the default row at startup so that GET requests never write; the read and the seed share a transaction
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
         OrganizationInfo info = organizationInfoRepository.getOrganizationInfo();
         if (info == null) {
-            // Create default organization info if not exists
-            info = createDefaultOrganizationInfo();
-            info = organizationInfoRepository.saveOrganizationInfo(info);
+            info = organizationInfoRepository.saveOrganizationInfo(createDefaultOrganizationInfo());
         }
-        return info;
+        snapshot = new Snapshot(info);
     }
     
+    public OrganizationInfo getOrganizationInfo() {
+        return snapshot().info;
+    }
+    
+    public CachedJson getOrganizationInfoJson() {
+        return snapshot().json;
+    }
+    
+    // Not @Transactional: save() commits, and so runs @PreUpdate, before the snapshot reads updatedAt
     public OrganizationInfo updateOrganizationInfo(OrganizationInfo organizationInfo) {
-        return organizationInfoRepository.saveOrganizationInfo(organizationInfo);
+        OrganizationInfo savedInfo = organizationInfoRepository.saveOrganizationInfo(organizationInfo);
+        generation.incrementAndGet();
+        snapshot = new Snapshot(savedInfo);
+        return savedInfo;
+    }
+    
+    // Picks up edits made in the database or through another node. Re-reads the whole row by primary key,
+    // which costs no more than reading updated_at and also catches edits that leave updated_at alone.
+    @Scheduled(fixedDelayString = "${app.organization.refresh-interval-ms:60000}",
+               initialDelayString = "${app.organization.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        long refreshGeneration = generation.get();
+        OrganizationInfo info = organizationInfoRepository.getOrganizationInfo();
+        if (info == null) {
+            return;
+        }
+        Snapshot current = snapshot;
+        Snapshot fresh = new Snapshot(info);
+        // An unchanged row keeps the current snapshot, so responses keep sharing its bytes
+        if (current != null && current.json.getEtag().equals(fresh.json.getEtag())
+                && current.json.getLastModified() == fresh.json.getLastModified()) {
+            return;
+        }
+        if (generation.get() == refreshGeneration) {
+            snapshot = fresh;
+        }
+    }
+    
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Only reachable before startup has finished; fall back to a read without caching
+            OrganizationInfo info = organizationInfoRepository.getOrganizationInfo();
+            current = new Snapshot(info != null ? info : createDefaultOrganizationInfo());
+        }
+        return current;
     }
     
     private OrganizationInfo createDefaultOrganizationInfo() {
@@ -37,4 +99,17 @@ public class OrganizationInfoService {
         info.setWebsite("www.rsfinanceservice.com");
         return info;
     }
+    
+    private final class Snapshot {
+        private final OrganizationInfo info;
+        private final CachedJson json;
+        
+        private Snapshot(OrganizationInfo info) {
+            this.info = info;
+            long lastModified = info.getUpdatedAt() != null
+                ? info.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+            this.json = CachedJson.of(objectMapper, info, lastModified);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.rsfinance.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style IDs: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a 12-bit
+ * per-millisecond sequence. They are written as "RSF", 13 Crockford base32 characters (fixed
+ * width, so string order equals numeric order) and a Luhn mod 32 check character, e.g. RSF0A8N59BNG0C00T.
+ * Generation is a single CAS loop without locks or sleeping.
+ */
+@Component
+public class SnowflakeApplicationIdGenerator implements ApplicationIdGenerator {
+
+    public static final String PREFIX = "RSF";
+
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BASE = ALPHABET.length;
+    private static final int BODY_LENGTH = 13;
+    private static final int ID_LENGTH = PREFIX.length() + BODY_LENGTH + 1;
+
+    // Must differ between instances sharing a database; no default, so a missing app.id.node-id fails startup
+    @Value("${app.id.node-id}")
+    private int nodeId;
+
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    public SnowflakeApplicationIdGenerator() {}
+
+    public SnowflakeApplicationIdGenerator(int nodeId) {
+        this.nodeId = nodeId;
+        checkNodeId();
+    }
+
+    @PostConstruct
+    public void checkNodeId() {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("app.id.node-id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+    }
+
+    @Override
+    public String nextId() {
+        return format(nextRawId());
+    }
+
+    /**
+     * The numeric form of the next ID. When the 4096 sequence values of a millisecond are used up,
+     * or the clock steps backwards, the sequence carries into the time bits. IDs therefore keep
+     * increasing and run slightly ahead of the wall clock instead of blocking.
+     */
+    public long nextRawId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = lastTimeAndSequence.get();
+            next = Math.max(last + 1, now);
+        } while (!lastTimeAndSequence.compareAndSet(last, next));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | ((long) nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    public static String format(long rawId) {
+        char[] id = new char[ID_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), id, 0);
+        long value = rawId;
+        for (int i = PREFIX.length() + BODY_LENGTH - 1; i >= PREFIX.length(); i--) {
+            id[i] = ALPHABET[(int) (value & (BASE - 1))];
+            value >>>= 5;
+        }
+        id[ID_LENGTH - 1] = ALPHABET[checkValue(id, PREFIX.length(), ID_LENGTH - 1)];
+        return new String(id);
+    }
+
+    // IDs of another length are accepted as-is: they predate this scheme ("RSF" + epoch millis)
+    @Override
+    public boolean isPlausible(String applicationId) {
+        if (applicationId == null || !applicationId.startsWith(PREFIX)) {
+            return false;
+        }
+        if (applicationId.length() != ID_LENGTH) {
+            return true;
+        }
+        char[] id = applicationId.toUpperCase().toCharArray();
+        int expected = checkValue(id, PREFIX.length(), ID_LENGTH - 1);
+        return expected >= 0 && indexOf(id[ID_LENGTH - 1]) == expected;
+    }
+
+    // Luhn mod 32 over id[from, to): catches every single-character typo and most adjacent swaps
+    private static int checkValue(char[] id, int from, int to) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = to - 1; i >= from; i--) {
+            int codePoint = indexOf(id[i]);
+            if (codePoint < 0) {
+                return -1;
+            }
+            int addend = factor * codePoint;
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / BASE + addend % BASE;
+        }
+        return (BASE - sum % BASE) % BASE;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,106 @@
+package com.rsfinance.service.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into alternating literal and {{variable}} segments. Rendering is a
+ * single pass that appends to the caller's StringBuilder, without regex or format-string parsing.
+ */
+public final class EmailTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    // literals.length == variables.length + 1; output is literal[0] var[0] literal[1] ... literal[n]
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean html;
+    private final int estimatedLength;
+
+    private EmailTemplate(String name, String[] literals, String[] variables, boolean html) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        // Leave room for the substituted values so the builder rarely has to grow
+        this.estimatedLength = length + variables.length * 24;
+    }
+
+    public static EmailTemplate compile(String name, String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template " + name + " at offset " + open);
+            }
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            if (variable.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder in email template " + name + " at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + CLOSE.length();
+        }
+        return new EmailTemplate(name, literals.toArray(new String[0]), variables.toArray(new String[0]), html);
+    }
+
+    // Missing or null values render as empty text; values are HTML-escaped in HTML templates
+    public void render(Map<String, String> model, StringBuilder out) {
+        out.ensureCapacity(out.length() + estimatedLength);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = model.get(variables[i]);
+            if (value != null) {
+                if (html) {
+                    appendEscaped(value, out);
+                } else {
+                    out.append(value);
+                }
+            }
+        }
+        out.append(literals[variables.length]);
+    }
+
+    public String getName() { return name; }
+
+    private static void appendEscaped(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                case '\'':
+                    out.append("&#39;");
+                    break;
+                case '\n':
+                    out.append("<br>");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+}
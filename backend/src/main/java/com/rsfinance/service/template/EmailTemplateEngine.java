@@ -0,0 +1,73 @@
+package com.rsfinance.service.template;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads every templates/email/*.txt (plain text, required) and *.html (optional variant) from the
+ * classpath once at startup and renders them into a per-thread reusable StringBuilder.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "classpath*:templates/email/";
+
+    // Builders above this size are dropped instead of kept, so one huge mail cannot pin memory
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    private final Map<String, EmailTemplate> textTemplates = new HashMap<>();
+    private final Map<String, EmailTemplate> htmlTemplates = new HashMap<>();
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (Resource resource : resolver.getResources(LOCATION + "*.txt")) {
+            String name = baseName(resource);
+            textTemplates.put(name, EmailTemplate.compile(name, read(resource), false));
+        }
+        for (Resource resource : resolver.getResources(LOCATION + "*.html")) {
+            String name = baseName(resource);
+            htmlTemplates.put(name, EmailTemplate.compile(name, read(resource), true));
+        }
+    }
+
+    public RenderedEmail render(String templateName, Map<String, String> model) {
+        EmailTemplate text = textTemplates.get(templateName);
+        if (text == null) {
+            throw new IllegalArgumentException("Unknown email template: " + templateName);
+        }
+        EmailTemplate html = htmlTemplates.get(templateName);
+        return new RenderedEmail(render(text, model), html != null ? render(html, model) : null);
+    }
+
+    private String render(EmailTemplate template, Map<String, String> model) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.render(model, buffer);
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static String baseName(Resource resource) {
+        String fileName = resource.getFilename();
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.rsfinance.service.template;
+
+public final class RenderedEmail {
+    private final String text;
+    private final String html;
+
+    public RenderedEmail(String text, String html) {
+        this.text = text;
+        this.html = html;
+    }
+
+    public String getText() { return text; }
+
+    // Null when the template has no HTML variant
+    public String getHtml() { return html; }
+}
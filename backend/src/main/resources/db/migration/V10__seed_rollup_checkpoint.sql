@@ -0,0 +1,4 @@
+-- DailyRollupService locks this row (SELECT ... FOR UPDATE) at the start of every run, so only one
+-- node rolls up at a time; the row must exist before the first run. The epoch watermark means the
+-- rollup has never run and triggers the full backfill. A watermark left by an earlier run is kept.
+INSERT IGNORE INTO rollup_checkpoints (name, watermark) VALUES ('daily_application_stats', '1970-01-01 00:00:00');
@@ -0,0 +1,116 @@
+-- Baseline schema as previously generated by Hibernate (ddl-auto=update).
+-- Databases created before Flyway was introduced are baselined at version 1 and skip this script.
+
+CREATE TABLE admins (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6),
+    email VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    is_active BIT,
+    last_login DATETIME(6),
+    password VARCHAR(255) NOT NULL,
+    updated_at DATETIME(6),
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_admins_username UNIQUE (username),
+    CONSTRAINT uk_admins_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE contact_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6),
+    email VARCHAR(255) NOT NULL,
+    is_read BIT,
+    message TEXT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    subject VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE loan_applications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    additional_income BIGINT,
+    application_id VARCHAR(255),
+    bank_account VARCHAR(255),
+    city VARCHAR(255),
+    company_name VARCHAR(255),
+    created_at DATETIME(6),
+    current_address TEXT,
+    date_of_birth DATE,
+    designation VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    employment_type VARCHAR(255),
+    existing_loans TEXT,
+    father_name VARCHAR(255),
+    first_name VARCHAR(255) NOT NULL,
+    gender VARCHAR(255),
+    ifsc_code VARCHAR(255),
+    last_name VARCHAR(255) NOT NULL,
+    loan_amount BIGINT,
+    loan_purpose TEXT,
+    loan_type VARCHAR(255),
+    marital_status VARCHAR(255),
+    monthly_income BIGINT,
+    mother_name VARCHAR(255),
+    office_address TEXT,
+    official_email VARCHAR(255),
+    permanent_address TEXT,
+    phone VARCHAR(255) NOT NULL,
+    pincode VARCHAR(255),
+    preferred_tenure INTEGER,
+    residence_type VARCHAR(255),
+    review_comments TEXT,
+    reviewed_at DATETIME(6),
+    reviewed_by VARCHAR(255),
+    state VARCHAR(255),
+    status ENUM('PENDING','UNDER_REVIEW','APPROVED','REJECTED'),
+    updated_at DATETIME(6),
+    work_experience INTEGER,
+    years_at_current_address INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_loan_applications_application_id UNIQUE (application_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE loan_types (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6),
+    description TEXT,
+    interest_rate FLOAT(53),
+    is_active BIT,
+    max_amount BIGINT,
+    max_tenure INTEGER,
+    min_tenure INTEGER,
+    name VARCHAR(255) NOT NULL,
+    processing_fee FLOAT(53),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_loan_types_name UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE organization_info (
+    id BIGINT NOT NULL,
+    address TEXT,
+    created_at DATETIME(6),
+    description TEXT,
+    email VARCHAR(255),
+    established_year VARCHAR(255),
+    facebook_url VARCHAR(255),
+    friday_hours VARCHAR(255),
+    instagram_url VARCHAR(255),
+    license_number VARCHAR(255),
+    linkedin_url VARCHAR(255),
+    logo_path VARCHAR(255),
+    monday_hours VARCHAR(255),
+    name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    saturday_hours VARCHAR(255),
+    sunday_hours VARCHAR(255),
+    thursday_hours VARCHAR(255),
+    tuesday_hours VARCHAR(255),
+    twitter_url VARCHAR(255),
+    updated_at DATETIME(6),
+    website VARCHAR(255),
+    wednesday_hours VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,32 @@
+-- Indexes matched to the hot repository queries. InnoDB appends the primary key to every
+-- secondary index, so (status, created_at) and (created_at) also serve the (created_at, id) keyset order.
+
+-- findByStatus, countByStatus, keyset pages filtered by status
+CREATE INDEX idx_loan_applications_status_created ON loan_applications (status, created_at);
+
+-- countApplicationsAfterDate, findApplicationsBetweenDates, exports, unfiltered keyset pages
+CREATE INDEX idx_loan_applications_created ON loan_applications (created_at);
+
+-- countApplicationsByLoanType (GROUP BY is answered from the index alone)
+CREATE INDEX idx_loan_applications_loan_type ON loan_applications (loan_type);
+
+-- findByEmailIgnoreCase / findByPhoneIgnoreCase (the default _ci collation already ignores case)
+CREATE INDEX idx_loan_applications_email ON loan_applications (email);
+CREATE INDEX idx_loan_applications_phone ON loan_applications (phone);
+
+-- Admin full-text search. Earlier builds created this index at startup, so only add it when missing.
+SET @create_search_index = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE() AND table_name = 'loan_applications'
+       AND index_name = 'ft_loan_applications_search') = 0,
+    'CREATE FULLTEXT INDEX ft_loan_applications_search ON loan_applications (first_name, last_name, email, phone, city, application_id)',
+    'DO 0');
+PREPARE create_search_index FROM @create_search_index;
+EXECUTE create_search_index;
+DEALLOCATE PREPARE create_search_index;
+
+-- findByIsRead, countUnreadMessages
+CREATE INDEX idx_contact_messages_read_created ON contact_messages (is_read, created_at);
+
+-- findActiveLoanTypesOrderByName, findByIsActiveTrue
+CREATE INDEX idx_loan_types_active_name ON loan_types (is_active, name);
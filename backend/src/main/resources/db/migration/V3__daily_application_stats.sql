@@ -0,0 +1,23 @@
+-- Daily rollup of loan applications for reporting, rebuilt per day by DailyRollupService
+CREATE TABLE daily_application_stats (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    stat_date DATE NOT NULL,
+    loan_type VARCHAR(255) NOT NULL,
+    status ENUM('PENDING','UNDER_REVIEW','APPROVED','REJECTED'),
+    application_count BIGINT NOT NULL,
+    loan_amount_sum BIGINT NOT NULL,
+    monthly_income_sum BIGINT NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_application_stats_key UNIQUE (stat_date, loan_type, status)
+) ENGINE=InnoDB;
+
+-- Progress markers for incremental jobs
+CREATE TABLE rollup_checkpoints (
+    name VARCHAR(64) NOT NULL,
+    watermark DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
+
+-- Finds the days touched since the last rollup run (inserts and status changes both bump updated_at)
+CREATE INDEX idx_loan_applications_updated ON loan_applications (updated_at);
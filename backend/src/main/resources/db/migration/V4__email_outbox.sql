@@ -0,0 +1,19 @@
+-- Transactional outbox for outgoing mail, drained by EmailOutboxDispatcher
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    idempotency_key VARCHAR(191) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(512) NOT NULL,
+    body TEXT NOT NULL,
+    status ENUM('PENDING','SENT','DEAD') NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    sent_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_email_outbox_idempotency_key UNIQUE (idempotency_key)
+) ENGINE=InnoDB;
+
+-- The dispatcher polls for due PENDING rows; the purge job scans SENT rows by age
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,2 @@
+-- Optional HTML alternative rendered from templates/email/*.html; plain text stays in body
+ALTER TABLE email_outbox ADD COLUMN html_body TEXT NULL AFTER body;
@@ -0,0 +1,14 @@
+-- MySQL has no sequences, so Hibernate emulates loan_applications_seq and email_outbox_seq with
+-- single-row tables. Each read reserves a block of 50 ids (allocationSize) and returns the top of
+-- the block. Seeding the tables with MAX(id) + 50 makes the first block start right after the existing rows.
+CREATE TABLE loan_applications_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO loan_applications_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM loan_applications;
+
+CREATE TABLE email_outbox_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO email_outbox_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM email_outbox;
@@ -0,0 +1,34 @@
+-- Normalized email and phone for duplicate detection (rules in ApplicantKeys). Plain equality on
+-- these columns uses their indexes, unlike the UPPER(...) comparisons of the old IgnoreCase finders.
+ALTER TABLE loan_applications
+    ADD COLUMN email_key VARCHAR(255) NULL,
+    ADD COLUMN phone_key VARCHAR(20) NULL,
+    ADD COLUMN possible_duplicate_of VARCHAR(20) NULL;
+
+-- email_key: lower-case, "+tag" removed, Gmail dots ignored and googlemail.com folded into gmail.com
+UPDATE loan_applications la
+JOIN (
+    SELECT id,
+           SUBSTRING_INDEX(SUBSTRING_INDEX(addr, '@', 1), '+', 1) AS local_part,
+           SUBSTRING_INDEX(addr, '@', -1) AS domain,
+           LOCATE('@', addr) > 0 AS has_at,
+           REGEXP_REPLACE(phone, '[^0-9]', '') AS digits
+    FROM (SELECT id, phone, LOWER(TRIM(email)) AS addr FROM loan_applications) raw
+) n ON n.id = la.id
+SET la.email_key = CASE
+        WHEN NOT n.has_at THEN NULLIF(LOWER(TRIM(la.email)), '')
+        WHEN n.domain IN ('gmail.com', 'googlemail.com') THEN CONCAT(REPLACE(n.local_part, '.', ''), '@gmail.com')
+        ELSE CONCAT(n.local_part, '@', n.domain)
+    END,
+    la.phone_key = CASE
+        WHEN n.digits = '' THEN NULL
+        ELSE RIGHT(n.digits, 10)
+    END;
+
+-- One lookup per key; created_at in the index answers "most recent match" without a sort
+CREATE INDEX idx_loan_applications_email_key_created ON loan_applications (email_key, created_at);
+CREATE INDEX idx_loan_applications_phone_key_created ON loan_applications (phone_key, created_at);
+
+-- Only the removed findByEmailIgnoreCase / findByPhoneIgnoreCase used these; search goes through FULLTEXT
+DROP INDEX idx_loan_applications_email ON loan_applications;
+DROP INDEX idx_loan_applications_phone ON loan_applications;
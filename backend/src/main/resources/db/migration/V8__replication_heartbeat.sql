@@ -0,0 +1,8 @@
+-- One row rewritten every second on the primary (ReplicaLagMonitor). The value read back from a
+-- replica is the primary's clock at the last heartbeat the replica has applied.
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
+
+INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, 0);
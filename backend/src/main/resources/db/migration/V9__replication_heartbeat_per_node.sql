@@ -0,0 +1,4 @@
+-- ReplicaLagMonitor now keeps one heartbeat row per node (id = app.id.node-id), written with that
+-- node's clock and compared only with it. Each node inserts its row on its first heartbeat; the
+-- shared row from V8 was stamped by whichever node wrote last, so it is dropped.
+DELETE FROM replication_heartbeat;
@@ -0,0 +1,141 @@
+package com.rsfinance.config;
+
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.model.LoanType;
+import com.rsfinance.repository.LoanApplicationRepository;
+import com.rsfinance.service.ApplicationStatusCache;
+import com.rsfinance.service.LoanTypeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the read-replica routing against two in-memory H2 databases that do not replicate. The
+ * replica gets the primary's schema but none of its rows, so the row count a read returns tells which
+ * database answered. Replication progress is simulated by writing this node's heartbeat row on the
+ * replica by hand.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.max-lag-ms=" + ReplicaRoutingTest.MAX_LAG_MILLIS,
+    // The test drives the heartbeat itself
+    "app.datasource.replica.heartbeat-interval-ms=86400000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    static final long MAX_LAG_MILLIS = 2_000;
+
+    private static final String HEARTBEAT_TABLE =
+        "CREATE TABLE replication_heartbeat (id INT NOT NULL PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+
+    @Autowired
+    @Qualifier("oltpDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("oltpReplicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private LoanTypeService loanTypes;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ApplicationStatusCache applicationStatusCache;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnlyWhenItIsCurrent() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        copySchema(primary, replica);
+        primary.execute(HEARTBEAT_TABLE);
+        replica.execute(HEARTBEAT_TABLE);
+
+        loanTypes.saveLoanType(loanType("Home Loan"));
+        monitor.heartbeat();
+        assertThat(loanTypes.getAllLoanTypes()).as("replica never heard from: read on the primary").hasSize(1);
+
+        applied(replica, System.currentTimeMillis());
+        assertThat(loanTypes.getAllLoanTypes()).as("replica current: read on the replica").isEmpty();
+
+        loanTypes.saveLoanType(loanType("Car Loan"));
+        assertThat(loanTypes.getAllLoanTypes()).as("write not applied on the replica yet: read on the primary").hasSize(2);
+
+        applied(replica, System.currentTimeMillis());
+        assertThat(loanTypes.getAllLoanTypes()).as("write applied: read on the replica again").isEmpty();
+
+        applied(replica, System.currentTimeMillis() - 5 * MAX_LAG_MILLIS);
+        assertThat(loanTypes.getAllLoanTypes()).as("replica lagging: read on the primary").hasSize(2);
+
+        // As if submitted through another node: nothing on this node knows about the write
+        loanApplicationRepository.save(application("RSFREPLICA0001"));
+        applied(replica, System.currentTimeMillis() + MAX_LAG_MILLIS);
+        assertThat(applicationStatusCache.get("RSFREPLICA0001"))
+            .as("status lookup missing on the replica is confirmed on the primary").isPresent();
+    }
+
+    // The replica has applied this node's heartbeat of this time
+    private void applied(JdbcTemplate replica, long beatMillis) {
+        replica.update("MERGE INTO replication_heartbeat (id, beat_millis) KEY (id) VALUES (0, ?)", beatMillis);
+        monitor.heartbeat();
+    }
+
+    // Tables, sequences and indexes only; H2's SCRIPT also lists the user and the rows
+    private static void copySchema(JdbcTemplate primary, JdbcTemplate replica) {
+        List<String> script = primary.queryForList("SCRIPT NODATA", String.class);
+        for (String statement : script) {
+            if (statement.startsWith("CREATE ") && !statement.startsWith("CREATE USER") || statement.startsWith("ALTER TABLE")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    private static LoanType loanType(String name) {
+        LoanType loanType = new LoanType();
+        loanType.setName(name);
+        loanType.setDescription(name);
+        loanType.setInterestRate(9.5);
+        loanType.setMaxAmount(5_000_000L);
+        loanType.setMinTenure(12);
+        loanType.setMaxTenure(240);
+        loanType.setProcessingFee(1.0);
+        loanType.setIsActive(true);
+        return loanType;
+    }
+
+    private static LoanApplication application(String applicationId) {
+        LoanApplication application = new LoanApplication();
+        application.setApplicationId(applicationId);
+        application.setFirstName("Replica");
+        application.setLastName("Check");
+        application.setEmail("replica.check@example.com");
+        application.setPhone("9800000001");
+        application.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        application.setCurrentAddress("1 Park Street");
+        application.setCity("Kolkata");
+        application.setState("West Bengal");
+        application.setPincode("700016");
+        application.setEmploymentType("Salaried");
+        application.setMonthlyIncome(50_000L);
+        application.setLoanType("Home Loan");
+        application.setLoanAmount(1_000_000L);
+        application.setLoanPurpose("Home renovation");
+        application.setPreferredTenure(120);
+        return application;
+    }
+}
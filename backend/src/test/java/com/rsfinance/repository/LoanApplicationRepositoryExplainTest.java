@@ -0,0 +1,296 @@
+package com.rsfinance.repository;
+
+import com.rsfinance.config.RequestStatementMetrics;
+import com.rsfinance.model.LoanApplication;
+import org.hibernate.exception.DataException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs EXPLAIN on H2 (MySQL mode) for the SQL each LoanApplicationRepository query generates and checks
+ * that the plan reads loan_applications through an index, not a table scan. The tables and indexes come
+ * from the entity @Index list, which mirrors the Flyway migrations. Queries H2 cannot check are disabled
+ * below with the reason.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoanApplicationRepositoryExplainTest {
+
+    private static final int ROWS = 5_000;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private LoanApplicationRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Hibernate's StatementInspector, so every generated SQL statement passes through it
+    @SpyBean
+    private RequestStatementMetrics requestStatementMetrics;
+
+    // Enough rows, spread over statuses, keys and days, for the optimizer to prefer an index
+    @BeforeAll
+    void seed() {
+        LoanApplication.ApplicationStatus[] statuses = LoanApplication.ApplicationStatus.values();
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            LocalDateTime createdAt = START.plusMinutes(i * 7L);
+            rows.add(new Object[] {
+                i, "First" + i, "Last" + i, "user" + i + "@example.com", "98" + String.format("%08d", i),
+                "City" + i % 50, "Loan" + i % 8, statuses[i % statuses.length].name(), "RS" + i,
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt), "user" + i + "@example.com", "98" + String.format("%08d", i)
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO loan_applications (id, first_name, last_name, email, phone, city, loan_type, "
+            + "status, application_id, created_at, updated_at, email_key, phone_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void findByApplicationId() {
+        assertUsesIndex(() -> repository.findByApplicationId("RS100"));
+    }
+
+    @Test
+    void findStatusViewByApplicationId() {
+        assertUsesIndex(() -> repository.findStatusViewByApplicationId("RS100"));
+    }
+
+    @Test
+    void findListRowsByIdIn() {
+        assertUsesIndex(() -> repository.findListRowsByIdIn(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void findByStatus() {
+        assertUsesIndex(() -> repository.findByStatus(LoanApplication.ApplicationStatus.APPROVED));
+    }
+
+    @Test
+    void findByStatusPage() {
+        assertUsesIndex(() -> repository.findByStatus(LoanApplication.ApplicationStatus.APPROVED, PAGE));
+    }
+
+    @Test
+    @Disabled("H2 cannot read an index backwards, so an unfiltered ORDER BY ... DESC is always a sorted table scan "
+        + "there; MySQL reads idx_loan_applications_created backwards")
+    void findFirstListRowPage() {
+        assertUsesIndex(() -> repository.findFirstListRowPage(PAGE));
+    }
+
+    @Test
+    void findFirstListRowPageByStatus() {
+        assertUsesIndex(() -> repository.findFirstListRowPageByStatus(LoanApplication.ApplicationStatus.PENDING, PAGE));
+    }
+
+    @Test
+    void findListRowPageAfter() {
+        assertUsesIndex(() -> repository.findListRowPageAfter(START.plusDays(10), 2000L, PAGE));
+    }
+
+    @Test
+    void findListRowPageByStatusAfter() {
+        assertUsesIndex(() -> repository.findListRowPageByStatusAfter(
+            LoanApplication.ApplicationStatus.PENDING, START.plusDays(10), 2000L, PAGE));
+    }
+
+    @Test
+    void countByStatus() {
+        assertUsesIndex(() -> repository.countByStatus(LoanApplication.ApplicationStatus.PENDING));
+    }
+
+    @Test
+    void countApplicationsAfterDate() {
+        assertUsesIndex(() -> repository.countApplicationsAfterDate(START.plusDays(20)));
+    }
+
+    @Test
+    void countApplicationsGroupedByStatus() {
+        assertUsesIndex(() -> repository.countApplicationsGroupedByStatus());
+    }
+
+    @Test
+    void countApplicationsPerDaySince() {
+        assertUsesIndex(() -> repository.countApplicationsPerDaySince(START.plusDays(20)));
+    }
+
+    @Test
+    void countApplicationsByLoanType() {
+        assertUsesIndex(() -> repository.countApplicationsByLoanType());
+    }
+
+    @Test
+    void findApplicationIdsByEmailKey() {
+        assertUsesIndex(() -> repository.findApplicationIdsByEmailKey("user100@example.com", PAGE));
+    }
+
+    @Test
+    void findApplicationIdsByPhoneKey() {
+        assertUsesIndex(() -> repository.findApplicationIdsByPhoneKey("9800000100", PAGE));
+    }
+
+    @Test
+    void findListRowsByEmailKey() {
+        assertUsesIndex(() -> repository.findListRowsByEmailKey("user100@example.com", 100L, PAGE));
+    }
+
+    @Test
+    void findListRowsByPhoneKey() {
+        assertUsesIndex(() -> repository.findListRowsByPhoneKey("9800000100", 100L, PAGE));
+    }
+
+    @Test
+    void findDuplicateKeysAfterId() {
+        assertUsesIndex(() -> repository.findDuplicateKeysAfterId(2000L, PAGE));
+    }
+
+    @Test
+    void findDuplicateKeysCreatedSince() {
+        assertUsesIndex(() -> repository.findDuplicateKeysCreatedSince(START.plusDays(20)));
+    }
+
+    @Test
+    void findApplicationsBetweenDates() {
+        assertUsesIndex(() -> repository.findApplicationsBetweenDates(START.plusDays(10), START.plusDays(11)));
+    }
+
+    @Test
+    void findIdsByStatusCreatedBetweenAfter() {
+        assertUsesIndex(() -> repository.findIdsByStatusCreatedBetweenAfter(
+            LoanApplication.ApplicationStatus.PENDING, START.plusDays(10), START.plusDays(20), 2000L, PAGE));
+    }
+
+    @Test
+    void findIdsCreatedBetweenAfter() {
+        assertUsesIndex(() -> repository.findIdsCreatedBetweenAfter(START.plusDays(10), START.plusDays(20), 2000L, PAGE));
+    }
+
+    @Test
+    void findAllByIdInForUpdate() {
+        assertUsesIndex(() -> repository.findAllByIdInForUpdate(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void updateStatusByIdIn() {
+        assertUsesIndex(() -> repository.updateStatusByIdIn(
+            List.of(1L, 2L, 3L), LoanApplication.ApplicationStatus.APPROVED, "admin", null, LocalDateTime.now()));
+    }
+
+    @Test
+    void deleteByIdIn() {
+        assertUsesIndex(() -> repository.deleteByIdIn(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void streamApplicationsBetweenDates() {
+        assertUsesIndex(() -> {
+            try (Stream<LoanApplication> applications = repository.streamApplicationsBetweenDates(START.plusDays(10), START.plusDays(11))) {
+                applications.findFirst();
+            } catch (DataException e) {
+                // H2 rejects the Connector/J streaming fetch size; the statement has been generated by then
+            }
+        });
+    }
+
+    @Test
+    @Disabled("FULLTEXT: H2 has no MATCH ... AGAINST")
+    void searchByFullText() {
+    }
+
+    @Test
+    @Disabled("FULLTEXT: H2 has no MATCH ... AGAINST")
+    void searchByFullTextAndStatus() {
+    }
+
+    @Test
+    @Disabled("FULLTEXT: H2 has no MATCH ... AGAINST")
+    void searchFirstKeysetIds() {
+    }
+
+    @Test
+    @Disabled("FULLTEXT: H2 has no MATCH ... AGAINST")
+    void searchFirstKeysetIdsByStatus() {
+    }
+
+    @Test
+    @Disabled("FULLTEXT: H2 has no MATCH ... AGAINST")
+    void searchKeysetIdsAfter() {
+    }
+
+    @Test
+    @Disabled("FULLTEXT: H2 has no MATCH ... AGAINST")
+    void searchKeysetIdsByStatusAfter() {
+    }
+
+    // Runs the query in a rolled back transaction and explains every statement it sent to loan_applications
+    private void assertUsesIndex(Runnable query) {
+        clearInvocations(requestStatementMetrics);
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            query.run();
+        });
+        ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+        verify(requestStatementMetrics, atLeast(0)).inspect(sent.capture());
+        List<String> statements = sent.getAllValues().stream()
+            .filter(sql -> sql.contains("loan_applications"))
+            .toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as(sql).doesNotContain("tableScan").contains("/* public.");
+        }
+    }
+
+    // Parameters are left NULL: H2 chooses the index from the condition, not from the bound values
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for " + sql, e);
+        }
+    }
+}
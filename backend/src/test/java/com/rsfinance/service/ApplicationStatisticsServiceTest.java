@@ -0,0 +1,78 @@
+package com.rsfinance.service;
+
+import com.rsfinance.model.LoanApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationStatisticsServiceTest {
+
+    @Autowired
+    private ApplicationStatisticsService applicationStatisticsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void countersChangeOnlyWhenTheTransactionCommits() {
+        long pending = pending();
+        long approved = approved();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationStatisticsService.recordSubmitted(application());
+            applicationStatisticsService.recordStatusChange(
+                LoanApplication.ApplicationStatus.PENDING, LoanApplication.ApplicationStatus.APPROVED);
+            assertThat(pending()).isEqualTo(pending);
+            status.setRollbackOnly();
+        });
+        assertThat(pending()).isEqualTo(pending);
+        assertThat(approved()).isEqualTo(approved);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationStatisticsService.recordSubmitted(application());
+            applicationStatisticsService.recordStatusChange(
+                LoanApplication.ApplicationStatus.PENDING, LoanApplication.ApplicationStatus.APPROVED);
+            assertThat(approved()).isEqualTo(approved);
+        });
+        assertThat(pending()).isEqualTo(pending);
+        assertThat(approved()).isEqualTo(approved + 1);
+    }
+
+    @Test
+    void deletionIsCountedAfterCommit() {
+        applicationStatisticsService.recordSubmitted(application());
+        long pending = pending();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationStatisticsService.recordDeleted(application());
+            status.setRollbackOnly();
+        });
+        assertThat(pending()).isEqualTo(pending);
+
+        transactionTemplate.executeWithoutResult(status -> applicationStatisticsService.recordDeleted(application()));
+        assertThat(pending()).isEqualTo(pending - 1);
+    }
+
+    private long pending() {
+        return applicationStatisticsService.countByStatus(LoanApplication.ApplicationStatus.PENDING);
+    }
+
+    private long approved() {
+        return applicationStatisticsService.countByStatus(LoanApplication.ApplicationStatus.APPROVED);
+    }
+
+    private static LoanApplication application() {
+        LoanApplication application = new LoanApplication();
+        application.setStatus(LoanApplication.ApplicationStatus.PENDING);
+        application.setLoanType("Home Loan");
+        application.setCreatedAt(LocalDateTime.now());
+        return application;
+    }
+}
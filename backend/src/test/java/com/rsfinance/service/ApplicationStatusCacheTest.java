@@ -0,0 +1,57 @@
+package com.rsfinance.service;
+
+import com.rsfinance.dto.ApplicationStatusView;
+import com.rsfinance.model.LoanApplication;
+import com.rsfinance.repository.LoanApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationStatusCacheTest {
+
+    private static final String APPLICATION_ID = "RSF100";
+
+    @Autowired
+    private ApplicationStatusCache applicationStatusCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private LoanApplicationRepository loanApplicationRepository;
+
+    // The lookup reads the row, then the status change commits and invalidates before the lookup finishes
+    @Test
+    void loadThatRacedWithAnInvalidationIsNotCached() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 0);
+        jdbcTemplate.update("INSERT INTO loan_applications (id, first_name, last_name, email, phone, loan_type, status, "
+            + "application_id, created_at, updated_at) VALUES (100, 'A', 'B', 'a@example.com', '9800000000', 'Home Loan', "
+            + "'PENDING', ?, ?, ?)", APPLICATION_ID, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+        ApplicationStatusView stale = new ApplicationStatusView(
+            APPLICATION_ID, LoanApplication.ApplicationStatus.PENDING, createdAt, createdAt, "Home Loan", null);
+        doAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE loan_applications SET status = 'APPROVED' WHERE application_id = ?", APPLICATION_ID);
+            applicationStatusCache.invalidate(APPLICATION_ID);
+            return Optional.of(stale);
+        }).when(loanApplicationRepository).findStatusViewByApplicationId(APPLICATION_ID);
+
+        assertThat(applicationStatusCache.get(APPLICATION_ID)).get()
+            .extracting(ApplicationStatusView::getStatus).isEqualTo(LoanApplication.ApplicationStatus.PENDING);
+
+        reset(loanApplicationRepository);
+        assertThat(applicationStatusCache.get(APPLICATION_ID)).get()
+            .extracting(ApplicationStatusView::getStatus).isEqualTo(LoanApplication.ApplicationStatus.APPROVED);
+    }
+}
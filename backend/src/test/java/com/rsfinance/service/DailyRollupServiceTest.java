@@ -0,0 +1,62 @@
+package com.rsfinance.service;
+
+import com.rsfinance.model.RollupCheckpoint;
+import com.rsfinance.repository.RollupCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DailyRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private DailyRollupService dailyRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private RollupCheckpointRepository rollupCheckpointRepository;
+
+    // A deleted application leaves nothing in updated_at; its day must survive a run that rolls back
+    @Test
+    void dirtyDaysOfAFailedRunAreRebuiltByTheNextOne() {
+        LocalDateTime createdAt = DAY.atTime(10, 0);
+        jdbcTemplate.update("INSERT INTO loan_applications (id, first_name, last_name, email, phone, loan_type, status, "
+            + "application_id, created_at, updated_at) VALUES (1, 'A', 'B', 'a@example.com', '9800000000', 'Home Loan', "
+            + "'PENDING', 'RSF1', ?, ?)", Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+        dailyRollupService.refresh();
+        assertThat(statRows()).isEqualTo(1);
+
+        jdbcTemplate.update("DELETE FROM loan_applications WHERE id = 1");
+        dailyRollupService.markDirty(DAY);
+        // Fails when the new watermark is written, after the day has been taken out of the dirty set
+        doThrow(new IllegalStateException("checkpoint write failed"))
+            .when(rollupCheckpointRepository).save(any(RollupCheckpoint.class));
+        assertThatThrownBy(() -> dailyRollupService.refresh()).hasMessage("checkpoint write failed");
+        assertThat(statRows()).isEqualTo(1);
+
+        reset(rollupCheckpointRepository);
+        dailyRollupService.refresh();
+        assertThat(statRows()).isZero();
+    }
+
+    private int statRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM daily_application_stats WHERE stat_date = ?", Integer.class, DAY);
+    }
+}
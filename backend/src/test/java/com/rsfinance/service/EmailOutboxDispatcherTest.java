@@ -0,0 +1,124 @@
+package com.rsfinance.service;
+
+import com.rsfinance.model.EmailOutbox;
+import com.rsfinance.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+// The mail health check needs a real JavaMailSenderImpl
+@SpringBootTest(properties = "management.health.mail.enabled=false")
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    // The SMTP call must not hold the row locks (or a pooled connection) of the claim
+    @Test
+    void sendsOutsideAnyTransactionAndRecordsSent() {
+        emailOutboxService.enqueue(new EmailOutbox("test:sent", "someone@example.com", "Subject", "Body", null));
+        AtomicBoolean inTransaction = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        assertThat(inTransaction).isFalse();
+        EmailOutbox email = emailOutboxRepository.findAll().get(0);
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(email.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() {
+        emailOutboxService.enqueue(new EmailOutbox("test:failed", "someone@example.com", "Subject", "Body", null));
+        // JavaMailSenderImpl reports a failed connection with every message of the batch as failed
+        doAnswer(invocation -> {
+            MimeMessage message = invocation.getArgument(0);
+            throw new MailSendException("Mail server connection failed",
+                new MessagingException("Connection refused"), Map.<Object, Exception>of(message, new MessagingException("Connection refused")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        List<EmailOutbox> emails = emailOutboxRepository.findAll();
+        assertThat(emails).hasSize(1);
+        EmailOutbox email = emails.get(0);
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).contains("Connection refused");
+        assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+    }
+
+    // No failed messages listed: only the close after sending failed, so nothing may be sent twice
+    @Test
+    void batchWhoseConnectionFailsToCloseIsRecordedSent() {
+        emailOutboxService.enqueue(new EmailOutbox("test:close", "someone@example.com", "Subject", "Body", null));
+        doAnswer(invocation -> {
+            throw new MailSendException("Failed to close server connection after message sending",
+                new MessagingException("Connection reset"), Map.of());
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatch();
+
+        EmailOutbox email = emailOutboxRepository.findAll().get(0);
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(email.getAttempts()).isZero();
+    }
+
+    // 50 messages at a 20 s socket timeout can take over 17 minutes; a 5 minute lease would expire mid-send
+    @Test
+    void leaseShorterThanTheSlowestBatchIsRejected() {
+        EmailOutboxDispatcher unchecked = new EmailOutboxDispatcher();
+        ReflectionTestUtils.setField(unchecked, "batchSize", 50);
+        ReflectionTestUtils.setField(unchecked, "connectionTimeoutMillis", 10_000L);
+        ReflectionTestUtils.setField(unchecked, "readTimeoutMillis", 20_000L);
+        ReflectionTestUtils.setField(unchecked, "writeTimeoutMillis", 20_000L);
+        ReflectionTestUtils.setField(unchecked, "leaseSeconds", 300L);
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(unchecked, "checkLease"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("use at least 1060");
+
+        ReflectionTestUtils.setField(unchecked, "leaseSeconds", 1060L);
+        ReflectionTestUtils.invokeMethod(unchecked, "checkLease");
+    }
+}
@@ -0,0 +1,35 @@
+package com.rsfinance.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.loan-type-cache.ttl-seconds=1")
+@ActiveProfiles("test")
+class LoanTypeCacheTest {
+
+    @Autowired
+    private LoanTypeCache loanTypeCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A direct database edit never calls invalidate(); the snapshot must still pick it up once it expires
+    @Test
+    void snapshotIsRebuiltAfterTheTtl() throws InterruptedException {
+        jdbcTemplate.update("INSERT INTO loan_types (id, name, description, interest_rate, max_amount, min_tenure, "
+            + "max_tenure, processing_fee, is_active, created_at, updated_at) "
+            + "VALUES (1, 'Home Loan', 'Home Loan', 8.5, 5000000, 12, 240, 1.0, TRUE, NOW(), NOW())");
+        assertThat(loanTypeCache.get().getActiveLoanTypes()).hasSize(1);
+
+        jdbcTemplate.update("UPDATE loan_types SET is_active = FALSE WHERE id = 1");
+        assertThat(loanTypeCache.get().getActiveLoanTypes()).hasSize(1);
+
+        Thread.sleep(1_100);
+        assertThat(loanTypeCache.get().getActiveLoanTypes()).isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package com.rsfinance.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrganizationInfoServiceTest {
+
+    @Autowired
+    private OrganizationInfoService organizationInfoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A direct database edit bypasses updateOrganizationInfo; the scheduled refresh must still serve it
+    @Test
+    void refreshPicksUpADatabaseEdit() {
+        // The snapshot seeded at startup has the timestamps before the column rounded them
+        organizationInfoService.refresh();
+        CachedJson before = organizationInfoService.getOrganizationInfoJson();
+        organizationInfoService.refresh();
+        assertThat(organizationInfoService.getOrganizationInfoJson()).isSameAs(before);
+
+        jdbcTemplate.update("UPDATE organization_info SET phone = '9000000000' WHERE id = 1");
+        organizationInfoService.refresh();
+
+        assertThat(organizationInfoService.getOrganizationInfo().getPhone()).isEqualTo("9000000000");
+        assertThat(organizationInfoService.getOrganizationInfoJson().getEtag()).isNotEqualTo(before.getEtag());
+    }
+}
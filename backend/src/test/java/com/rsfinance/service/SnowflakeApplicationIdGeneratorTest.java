@@ -0,0 +1,71 @@
+package com.rsfinance.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeApplicationIdGeneratorTest {
+
+    private static final int THREADS = 64;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    // 3.2M ids from 64 threads sharing two nodes: none issued twice, none lower than the previous one of its thread
+    @Test
+    void concurrentIdsAreUniqueAndIncreasing() throws InterruptedException {
+        SnowflakeApplicationIdGenerator[] nodes = {
+            new SnowflakeApplicationIdGenerator(1), new SnowflakeApplicationIdGenerator(2)
+        };
+        long[][] ids = new long[THREADS][IDS_PER_THREAD];
+        AtomicReference<String> backwards = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            SnowflakeApplicationIdGenerator generator = nodes[t % nodes.length];
+            long[] out = ids[t];
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = generator.nextRawId();
+                    if (i > 0 && out[i] <= out[i - 1]) {
+                        backwards.compareAndSet(null, out[i - 1] + " then " + out[i]);
+                    }
+                }
+            }, "id-stress-" + t);
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(backwards.get()).as("id went backwards").isNull();
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            assertThat(ids[t][IDS_PER_THREAD - 1]).as("thread %d finished", t).isNotZero();
+            System.arraycopy(ids[t], 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).as("duplicate id").isNotEqualTo(all[i - 1]);
+        }
+    }
+
+    @Test
+    void formattedIdsPassTheCheckCharacter() {
+        SnowflakeApplicationIdGenerator generator = new SnowflakeApplicationIdGenerator(7);
+        String id = generator.nextId();
+        assertThat(id).startsWith(SnowflakeApplicationIdGenerator.PREFIX).hasSize(17);
+        assertThat(generator.isPlausible(id)).isTrue();
+        char last = id.charAt(id.length() - 1);
+        String typo = id.substring(0, id.length() - 1) + (last == '0' ? '1' : '0');
+        assertThat(generator.isPlausible(typo)).isFalse();
+    }
+}